@@ -0,0 +1,142 @@
+/*
+ * Copyright 2009 Michael Chermside
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.mcherm.zithiacharsheet.client;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.google.gwt.user.client.Command;
+import com.google.gwt.user.client.DeferredCommand;
+import com.mcherm.zithiacharsheet.client.modeler.Observable.Observer;
+
+
+/**
+ * Sits between the model and the widgets that display it. Instead of
+ * writing to the page every time a value they show changes, widgets
+ * just get marked as needing an update; the updates are all done
+ * together (using a DeferredCommand) once the browser finishes handling
+ * the current event. So however many times a value changes during one
+ * user action, each widget is written only once.
+ * <p>
+ * It also keeps count of how many writes it saved.
+ * <p>
+ * NOTE: Not threadsafe, but the browser doesn't have threads.
+ */
+public final class DisplayUpdater {
+
+    private static final DisplayUpdater instance = new DisplayUpdater();
+
+    /** Returns the DisplayUpdater. */
+    public static DisplayUpdater getInstance() {
+        return instance;
+    }
+
+    /** Something that displays a value. */
+    public static interface Display {
+        /** Called to bring what is shown up to date. */
+        public void updateDisplay();
+    }
+
+    /** Displays that need updating, in the order they were first marked. */
+    private final List<Display> pending;
+    /** The same displays as in pending, minus any that were cancelled. */
+    private final Set<Display> pendingSet;
+    private boolean flushScheduled;
+    private int writeCount;
+    private int avoidedWriteCount;
+    private final Command flushCommand = new Command() {
+        public void execute() {
+            flush();
+        }
+    };
+
+
+    /** Constructor is private: use getInstance(). */
+    private DisplayUpdater() {
+        pending = new ArrayList<Display>();
+        pendingSet = new HashSet<Display>();
+        flushScheduled = false;
+        writeCount = 0;
+        avoidedWriteCount = 0;
+    }
+
+    /**
+     * Returns an Observer that marks display as needing an update. Use it
+     * in place of an Observer that updates the display directly.
+     */
+    public Observer newObserver(final Display display) {
+        return new Observer() {
+            public void onChange() {
+                markDirty(display);
+            }
+        };
+    }
+
+    /** Marks display as needing an update. */
+    public void markDirty(Display display) {
+        if (pendingSet.add(display)) {
+            pending.add(display);
+        } else {
+            avoidedWriteCount++;
+        }
+        if (!flushScheduled) {
+            flushScheduled = true;
+            DeferredCommand.addCommand(flushCommand);
+        }
+    }
+
+    /** Call when a display is disposed so it won't be updated after all. */
+    public void cancel(Display display) {
+        pendingSet.remove(display);
+    }
+
+    /** Updates everything that is marked. Normally called automatically. */
+    public void flush() {
+        flushScheduled = false;
+        // Updating a display could mark others, so don't use an iterator
+        for (int i=0; i<pending.size(); i++) {
+            Display display = pending.get(i);
+            if (pendingSet.remove(display)) {
+                writeCount++;
+                display.updateDisplay();
+            }
+        }
+        pending.clear();
+    }
+
+    /** Returns the number of times a display has been updated. */
+    public int getWriteCount() {
+        return writeCount;
+    }
+
+    /**
+     * Returns the number of updates that were skipped because the
+     * display was already waiting for one.
+     */
+    public int getAvoidedWriteCount() {
+        return avoidedWriteCount;
+    }
+
+    /** Sets the counts back to zero. */
+    public void resetCounts() {
+        writeCount = 0;
+        avoidedWriteCount = 0;
+    }
+
+}
@@ -1,52 +1,122 @@
-/*
- * Copyright 2009 Michael Chermside
- *
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- *
- *   http://www.apache.org/licenses/LICENSE-2.0
- *
- *  Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- *
- */
-package com.mcherm.zithiacharsheet.client;
-
-import com.google.gwt.event.dom.client.ClickEvent;
-import com.google.gwt.event.dom.client.ClickHandler;
-import com.google.gwt.user.client.ui.Button;
-import com.google.gwt.user.client.ui.DialogBox;
-import com.google.gwt.user.client.ui.HTML;
-import com.google.gwt.user.client.ui.VerticalPanel;
-import com.mcherm.zithiacharsheet.client.model.SkillCatalog;
-
-/**
- * This is a dialog for selecting a skill. When shown, the user
- * can select a skill, at which point the indicated callback will
- * be invoked. If the dialog is cancelled, nothing will happen.
- */
-public class SelectSkillDialog extends DialogBox {
-	private final SkillCatalogDisplay skillCatalogDisplay;
-    
-    public SelectSkillDialog(SkillCatalogDisplay.SkillSelectCallback actionOnSelect) {
-        skillCatalogDisplay = new SkillCatalogDisplay(SkillCatalog.getSingleton());
-        skillCatalogDisplay.setSkillSelectCallback(actionOnSelect);
-    	VerticalPanel dialogVPanel = new VerticalPanel();
-    	dialogVPanel.add(new HTML("<b>Select a skill:</b>"));
-    	dialogVPanel.add(skillCatalogDisplay);
-        final Button closeButton = new Button("Close");
-        final SelectSkillDialog theDialog = this;
-        closeButton.addClickHandler(new ClickHandler() {
-            public void onClick(ClickEvent event) {
-                theDialog.hide();
-            }
-        });
-        dialogVPanel.add(closeButton);
-    	this.setWidget(dialogVPanel);
-    }
-    
-}
+/*
+ * Copyright 2009 Michael Chermside
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.mcherm.zithiacharsheet.client;
+
+import com.google.gwt.event.dom.client.ClickEvent;
+import com.google.gwt.event.dom.client.ClickHandler;
+import com.google.gwt.event.dom.client.KeyUpEvent;
+import com.google.gwt.event.dom.client.KeyUpHandler;
+import com.google.gwt.user.client.ui.Button;
+import com.google.gwt.user.client.ui.DialogBox;
+import com.google.gwt.user.client.ui.FlexTable;
+import com.google.gwt.user.client.ui.HTML;
+import com.google.gwt.user.client.ui.Label;
+import com.google.gwt.user.client.ui.TextBox;
+import com.google.gwt.user.client.ui.VerticalPanel;
+import com.mcherm.zithiacharsheet.client.model.SkillCatalog;
+import com.mcherm.zithiacharsheet.client.model.ZithiaSkill;
+
+/**
+ * This is a dialog for selecting a skill. When shown, the user
+ * can select a skill, at which point the indicated callback will
+ * be invoked. If the dialog is cancelled, nothing will happen.
+ * <p>
+ * Typing in the filter box replaces the catalog with the best
+ * matching skills; clearing it shows the catalog again.
+ */
+public class SelectSkillDialog extends DialogBox {
+    /** The most matches to show for a filter. */
+    private static final int MAX_MATCHES = 20;
+
+	private final SkillCatalogDisplay skillCatalogDisplay;
+    private final SkillCatalogDisplay.SkillSelectCallback actionOnSelect;
+    private final TextBox filterBox;
+    private final FlexTable matchesTable;
+    private String lastFilter = "";
+    
+    public SelectSkillDialog(SkillCatalogDisplay.SkillSelectCallback actionOnSelect) {
+        this.actionOnSelect = actionOnSelect;
+        skillCatalogDisplay = new SkillCatalogDisplay(SkillCatalog.getSingleton());
+        skillCatalogDisplay.setSkillSelectCallback(actionOnSelect);
+        filterBox = new TextBox();
+        filterBox.addKeyUpHandler(new KeyUpHandler() {
+            public void onKeyUp(KeyUpEvent event) {
+                updateMatches();
+            }
+        });
+        matchesTable = new FlexTable();
+        matchesTable.addStyleName("skillCatalog");
+        matchesTable.setVisible(false);
+    	VerticalPanel dialogVPanel = new VerticalPanel();
+    	dialogVPanel.add(new HTML("<b>Select a skill:</b>"));
+        dialogVPanel.add(filterBox);
+        dialogVPanel.add(matchesTable);
+    	dialogVPanel.add(skillCatalogDisplay);
+        final Button closeButton = new Button("Close");
+        final SelectSkillDialog theDialog = this;
+        closeButton.addClickHandler(new ClickHandler() {
+            public void onClick(ClickEvent event) {
+                theDialog.hide();
+            }
+        });
+        dialogVPanel.add(closeButton);
+    	this.setWidget(dialogVPanel);
+    }
+
+    /**
+     * Called whenever the filter text may have changed; shows the skills
+     * matching it, or the whole catalog if it is blank.
+     */
+    private void updateMatches() {
+        String filter = filterBox.getText().trim();
+        if (filter.equals(lastFilter)) {
+            return;
+        }
+        lastFilter = filter;
+        while (matchesTable.getRowCount() > 0) {
+            matchesTable.removeRow(0);
+        }
+        if (filter.length() == 0) {
+            matchesTable.setVisible(false);
+            skillCatalogDisplay.setVisible(true);
+            return;
+        }
+        int row = 0;
+        for (final ZithiaSkill skill : SkillCatalog.getSingleton().getSearchIndex().search(filter, MAX_MATCHES)) {
+            ClickHandler rowClickHandler = new ClickHandler() {
+                public void onClick(ClickEvent event) {
+                    actionOnSelect.newSkillSelected(skill);
+                }
+            };
+            Label statsLabel = new Label(SkillCatalogDisplay.getStatsText(skill));
+            statsLabel.addClickHandler(rowClickHandler);
+            matchesTable.setWidget(row, 0, statsLabel);
+            matchesTable.getFlexCellFormatter().addStyleName(row, 0, "statsCol");
+            Label nameLabel = new Label(skill.getName());
+            nameLabel.addClickHandler(rowClickHandler);
+            matchesTable.setWidget(row, 1, nameLabel);
+            matchesTable.getFlexCellFormatter().addStyleName(row, 1, "nameCol");
+            row++;
+        }
+        if (row == 0) {
+            matchesTable.setWidget(0, 0, new Label("No matching skills."));
+        }
+        matchesTable.setVisible(true);
+        skillCatalogDisplay.setVisible(false);
+    }
+    
+}
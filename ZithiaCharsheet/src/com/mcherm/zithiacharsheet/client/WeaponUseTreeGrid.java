@@ -1,123 +1,169 @@
-/*
- * Copyright 2009 Michael Chermside
- *
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- *
- *   http://www.apache.org/licenses/LICENSE-2.0
- *
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- */
-package com.mcherm.zithiacharsheet.client;
-
-import java.util.Arrays;
-import java.util.List;
-
-import com.google.gwt.core.client.GWT;
-import com.google.gwt.event.dom.client.ClickEvent;
-import com.google.gwt.event.dom.client.ClickHandler;
-import com.google.gwt.user.client.ui.HTML;
-import com.google.gwt.user.client.ui.Image;
-import com.google.gwt.user.client.ui.TreeImages;
-import com.google.gwt.user.client.ui.VerticalPanel;
-import com.mcherm.zithiacharsheet.client.model.WeaponTraining;
-import com.mcherm.zithiacharsheet.client.model.ZithiaCharacter;
-import com.mcherm.zithiacharsheet.client.model.ZithiaStat;
-import com.mcherm.zithiacharsheet.client.model.weapon.SingleWeaponSkill;
-import com.mcherm.zithiacharsheet.client.modeler.EquationIntValue;
-import com.mcherm.zithiacharsheet.client.modeler.ObservableInt;
-import com.mcherm.zithiacharsheet.client.modeler.TweakableIntValue;
-
-
-/**
- * A Tree view for viewing the weapons as they are used. Built using my
- * TreeGrid class.
- */
-public class WeaponUseTreeGrid extends TreeGrid {
-
-    private final static int NUM_COLUMNS = 6;
-
-
-    /** Constructor. */
-    public WeaponUseTreeGrid(ZithiaCharacter zithiaCharacter) {
-        super(new WeaponUseTreeGridItem(zithiaCharacter, zithiaCharacter.getWeaponTraining()),
-                NUM_COLUMNS, GWT.<TreeImages> create(TreeImages.class));
-    }
-
-
-    /**
-     * Display a header giving the meaning of the different columns.
-     */
-    protected List<WidgetOrText> getHeader() {
-        final Image openCloseAll;
-        openCloseAll = treeImages.treeClosed().createImage();
-        openCloseAll.addClickHandler(new ClickHandler() {
-            public void onClick(ClickEvent clickEvent) {
-                openAll();
-            }
-        });
-        
-        VerticalPanel totalLevels = new VerticalPanel();
-        totalLevels.add(new HTML("Total"));
-        totalLevels.add(new HTML("Levels"));
-        return Arrays.asList(
-                new WidgetOrText(openCloseAll),
-                new WidgetOrText("Trained"),
-                new WidgetOrText(totalLevels),
-                new WidgetOrText("Speed"),
-                new WidgetOrText("Hp"),
-                new WidgetOrText("Stun")
-        );
-    }
-
-    /** Contents to display in each row of this table. */
-    private static class WeaponUseTreeGridItem extends WeaponSkillTreeGridItem {
-        private final ZithiaCharacter zithiaCharacter;
-
-        public WeaponUseTreeGridItem(ZithiaCharacter zithiaCharacter, WeaponTraining wt) {
-            super(wt);
-            this.zithiaCharacter = zithiaCharacter;
-        }
-
-        public WeaponSkillTreeGridItem newInstance(WeaponTraining wt) {
-            return new WeaponUseTreeGridItem(zithiaCharacter, wt);
-        }
-
-        public List<WidgetOrText> getContents() {
-            WidgetOrText col_0 = new WidgetOrText(wt.getWeaponSkill().getName());
-            WidgetOrText col_1 = new WidgetOrText(new TrainingEntryField(wt));
-            WidgetOrText col_2 = new WidgetOrText(new TweakableIntField(wt.getLevels()));
-            WidgetOrText col_3, col_4, col_5;
-
-            if (wt.getWeaponSkill() instanceof SingleWeaponSkill) {
-                SingleWeaponSkill sws = (SingleWeaponSkill) wt.getWeaponSkill();
-                final int weaponSpd = sws.getWeapon().getSpd();
-                ObservableInt charSpd = zithiaCharacter.getStat(ZithiaStat.SPD).getValue();
-                TweakableIntValue cycleTime = new EquationIntValue(charSpd, new EquationIntValue.Equation1() {
-                    public int getValue(int charSpd) {
-                        return charSpd + weaponSpd;
-                    }
-                });
-                col_3 = new WidgetOrText(new TweakableIntField(cycleTime));
-                col_4 = new WidgetOrText(sws.getWeapon().getHpDmg().getStr());
-                col_5 = new WidgetOrText(sws.getWeapon().getStunDmg().getStr());
-            } else {
-                col_3 = col_4 = col_5 = new WidgetOrText("");
-            }
-            return Arrays.asList(
-                    col_0,
-                    col_1,
-                    col_2,
-                    col_3,
-                    col_4,
-                    col_5
-            );
-        }
-
-    }
-}
+/*
+ * Copyright 2009 Michael Chermside
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mcherm.zithiacharsheet.client;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.google.gwt.core.client.GWT;
+import com.google.gwt.event.dom.client.ClickEvent;
+import com.google.gwt.event.dom.client.ClickHandler;
+import com.google.gwt.user.client.ui.HTML;
+import com.google.gwt.user.client.ui.Image;
+import com.google.gwt.user.client.ui.Label;
+import com.google.gwt.user.client.ui.TreeImages;
+import com.google.gwt.user.client.ui.VerticalPanel;
+import com.mcherm.zithiacharsheet.client.model.WeaponTraining;
+import com.mcherm.zithiacharsheet.client.model.ZithiaCharacter;
+import com.mcherm.zithiacharsheet.client.model.ZithiaStat;
+import com.mcherm.zithiacharsheet.client.model.weapon.DamageDistribution;
+import com.mcherm.zithiacharsheet.client.model.weapon.DamageRoll;
+import com.mcherm.zithiacharsheet.client.model.weapon.SingleWeaponSkill;
+import com.mcherm.zithiacharsheet.client.modeler.Disposable;
+import com.mcherm.zithiacharsheet.client.modeler.Disposer;
+import com.mcherm.zithiacharsheet.client.modeler.EquationIntValue;
+import com.mcherm.zithiacharsheet.client.modeler.ObservableInt;
+import com.mcherm.zithiacharsheet.client.modeler.TweakableIntValue;
+
+
+/**
+ * A Tree view for viewing the weapons as they are used. Built using my
+ * TreeGrid class.
+ */
+public class WeaponUseTreeGrid extends TreeGrid {
+
+    private final static int NUM_COLUMNS = 6;
+
+
+    /** Constructor. */
+    public WeaponUseTreeGrid(ZithiaCharacter zithiaCharacter) {
+        super(new WeaponUseTreeGridItem(zithiaCharacter, zithiaCharacter.getWeaponTraining()),
+                NUM_COLUMNS, GWT.<TreeImages> create(TreeImages.class));
+    }
+
+
+    /**
+     * Display a header giving the meaning of the different columns.
+     */
+    protected List<WidgetOrText> getHeader() {
+        final Image openCloseAll;
+        openCloseAll = treeImages.treeClosed().createImage();
+        openCloseAll.addClickHandler(new ClickHandler() {
+            public void onClick(ClickEvent clickEvent) {
+                openAll();
+            }
+        });
+        
+        VerticalPanel totalLevels = new VerticalPanel();
+        totalLevels.add(new HTML("Total"));
+        totalLevels.add(new HTML("Levels"));
+        return Arrays.asList(
+                new WidgetOrText(openCloseAll),
+                new WidgetOrText("Trained"),
+                new WidgetOrText(totalLevels),
+                new WidgetOrText("Speed"),
+                new WidgetOrText("Hp"),
+                new WidgetOrText("Stun")
+        );
+    }
+
+    /** Contents to display in each row of this table. */
+    private static class WeaponUseTreeGridItem extends WeaponSkillTreeGridItem {
+        private final ZithiaCharacter zithiaCharacter;
+
+        public WeaponUseTreeGridItem(ZithiaCharacter zithiaCharacter, WeaponTraining wt) {
+            super(wt);
+            this.zithiaCharacter = zithiaCharacter;
+        }
+
+        public WeaponSkillTreeGridItem newInstance(WeaponTraining wt) {
+            return new WeaponUseTreeGridItem(zithiaCharacter, wt);
+        }
+
+        public List<WidgetOrText> getContents() {
+            WidgetOrText col_0 = new WidgetOrText(wt.getWeaponSkill().getName());
+            WidgetOrText col_1 = new WidgetOrText(new TrainingEntryField(wt));
+            WidgetOrText col_2 = new WidgetOrText(new TweakableIntField(wt.getLevels()));
+            WidgetOrText col_3, col_4, col_5;
+
+            if (wt.getWeaponSkill() instanceof SingleWeaponSkill) {
+                SingleWeaponSkill sws = (SingleWeaponSkill) wt.getWeaponSkill();
+                final int weaponSpd = sws.getWeapon().getSpd();
+                ObservableInt charSpd = zithiaCharacter.getStat(ZithiaStat.SPD).getValue();
+                TweakableIntValue cycleTime = EquationIntValue.newInstance(charSpd, new EquationIntValue.Equation1() {
+                    public int getValue(int charSpd) {
+                        return charSpd + weaponSpd;
+                    }
+                });
+                col_3 = new WidgetOrText(new TweakableIntField(cycleTime));
+                col_4 = getDamageDisplay(sws.getWeapon().getHpDmg());
+                col_5 = getDamageDisplay(sws.getWeapon().getStunDmg());
+            } else {
+                col_3 = col_4 = col_5 = new WidgetOrText("");
+            }
+            return Arrays.asList(
+                    col_0,
+                    col_1,
+                    col_2,
+                    col_3,
+                    col_4,
+                    col_5
+            );
+        }
+
+        /**
+         * Shows a damage roll along with its average. If the roll depends on
+         * strength, the average is kept up to date as strength changes.
+         */
+        private WidgetOrText getDamageDisplay(final DamageRoll damageRoll) {
+            if (!damageRoll.isStrBased()) {
+                return new WidgetOrText(describeDamage(damageRoll, damageRoll.getDistribution()));
+            }
+            ObservableInt str = zithiaCharacter.getStat(ZithiaStat.STR).getValue();
+            return new WidgetOrText(disposer.track(new StrDamageLabel(damageRoll, str)));
+        }
+
+        /** Returns text like "2D4+1 (avg 6.0)". */
+        private static String describeDamage(DamageRoll damageRoll, DamageDistribution distribution) {
+            double roundedMean = Math.round(distribution.getMean() * 10) / 10.0;
+            return damageRoll.getStr() + " (avg " + roundedMean + ")";
+        }
+
+        /** Shows a damage roll that depends on strength. */
+        private static class StrDamageLabel extends Label implements Disposable, DisplayUpdater.Display {
+            private final DamageRoll damageRoll;
+            private final ObservableInt str;
+            private final Disposer disposer = new Disposer();
+
+            public StrDamageLabel(DamageRoll damageRoll, ObservableInt str) {
+                this.damageRoll = damageRoll;
+                this.str = str;
+                updateDisplay();
+                disposer.observe(str, DisplayUpdater.getInstance().newObserver(this));
+            }
+
+            public void updateDisplay() {
+                setText(describeDamage(damageRoll, damageRoll.getDistribution(str.getValue())));
+            }
+
+            public void dispose() {
+                disposer.dispose();
+                DisplayUpdater.getInstance().cancel(this);
+            }
+        }
+
+    }
+}
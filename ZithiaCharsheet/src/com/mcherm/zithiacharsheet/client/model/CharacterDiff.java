@@ -0,0 +1,720 @@
+/*
+ * Copyright 2009 Michael Chermside
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.mcherm.zithiacharsheet.client.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import com.google.gwt.json.client.JSONArray;
+import com.google.gwt.json.client.JSONObject;
+import com.google.gwt.json.client.JSONValue;
+import com.mcherm.zithiacharsheet.client.util.SequenceUtil;
+import com.mcherm.zithiacharsheet.client.model.CharacterSnapshot.Armor;
+import com.mcherm.zithiacharsheet.client.model.CharacterSnapshot.Costs;
+import com.mcherm.zithiacharsheet.client.model.CharacterSnapshot.Skill;
+import com.mcherm.zithiacharsheet.client.model.CharacterSnapshot.Stat;
+import com.mcherm.zithiacharsheet.client.model.CharacterSnapshot.Talent;
+import com.mcherm.zithiacharsheet.client.model.CharacterSnapshot.Tweakable;
+import com.mcherm.zithiacharsheet.client.model.CharacterSnapshot.Weapon;
+
+
+/**
+ * Finds the differences between two versions of a character. The result
+ * is a list of Changes, one for each field that is different, in the
+ * same order the fields appear on the sheet (and in the saved JSON).
+ * Only the things a user can set are compared (values, tweaks, which
+ * skills and weapons are present, and so forth); the calculated values
+ * follow from those.
+ * <p>
+ * Each change has a path like "skillList/climbing/levels" or
+ * "weaponTraining/melee/swords/levelsPurchased" which names the field
+ * independently of where it happens to sit in a list, so two lists of
+ * changes made to the same starting character can be checked against
+ * each other for changes to the same field.
+ * <p>
+ * Two characters saved as JSON are compared as JSON, without loading
+ * them. The JSON holds exactly the things that are compared, so the
+ * changes are the same ones found by comparing the snapshots it was
+ * written from.
+ * <p>
+ * The work is linear in the size of the character, except for finding
+ * which items of a reordered list moved, which takes O(n log n) in the
+ * length of the list. Skills and weapons are matched up by a hash lookup
+ * rather than by searching, and parts that two snapshots share (which is
+ * everything that didn't change, if they were taken from the same
+ * character) are skipped without looking inside.
+ */
+public final class CharacterDiff {
+
+    /** The kinds of change. */
+    public static enum Kind {
+        /** A field has a different value. */
+        CHANGED,
+        /** An item (a skill, weapon or talent) was added to a list. The new value is the item. */
+        ADDED,
+        /** An item was removed from a list. The old value is the item. */
+        REMOVED,
+        /** An item is in a different place in its list. The values are the old and new positions. */
+        MOVED
+    }
+
+    /** One difference between the characters. */
+    public static final class Change {
+        private final Kind kind;
+        private final String path;
+        private final Object oldValue;
+        private final Object newValue;
+
+        private Change(Kind kind, String path, Object oldValue, Object newValue) {
+            this.kind = kind;
+            this.path = path;
+            this.oldValue = oldValue;
+            this.newValue = newValue;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        /** The name of the field or item, like "statValues/Str/value". */
+        public String getPath() {
+            return path;
+        }
+
+        /**
+         * The value before. This is an Integer, Boolean, String, enum or
+         * Tweakable for a CHANGED field, the item for a REMOVED one, the
+         * position for a MOVED one, and null for an ADDED one. When JSON
+         * was compared, a tweaked value and an item are the JSONObject
+         * they were saved as, and an untweaked value is null.
+         */
+        public Object getOldValue() {
+            return oldValue;
+        }
+
+        /** The value after; see getOldValue(). Null for a REMOVED item. */
+        public Object getNewValue() {
+            return newValue;
+        }
+
+        @Override
+        public String toString() {
+            switch (kind) {
+                case ADDED:
+                    return path + " added";
+                case REMOVED:
+                    return path + " removed";
+                case MOVED:
+                    return path + " moved from " + oldValue + " to " + newValue;
+                default:
+                    return path + ": " + describe(oldValue) + " -> " + describe(newValue);
+            }
+        }
+
+        private static String describe(Object value) {
+            if (value instanceof Tweakable) {
+                Tweakable tweakable = (Tweakable) value;
+                return describe(tweakable.getOverride(), tweakable.getModifier());
+            } else if (value instanceof JSONObject || value == null) {
+                JSONObject tweaks = (JSONObject) value;
+                return describe(optionalInt(tweaks, "override"), optionalInt(tweaks, "modifier"));
+            } else if (value instanceof String) {
+                return "\"" + value + "\"";
+            } else {
+                return String.valueOf(value);
+            }
+        }
+
+        private static String describe(Integer override, Integer modifier) {
+            if (override != null) {
+                return "=" + override;
+            } else if (modifier != null) {
+                return (modifier < 0 ? "" : "+") + modifier;
+            } else {
+                return "untweaked";
+            }
+        }
+    }
+
+
+    private final List<Change> changes;
+
+    private CharacterDiff() {
+        changes = new ArrayList<Change>();
+    }
+
+
+    /** Returns the changes needed to turn before into after. */
+    public static List<Change> compare(CharacterSnapshot before, CharacterSnapshot after) {
+        CharacterDiff diff = new CharacterDiff();
+        if (before != after) {
+            diff.compareCharacters(before, after);
+        }
+        return Collections.unmodifiableList(diff.changes);
+    }
+
+    /** Compares the current values of two characters. */
+    public static List<Change> compare(ZithiaCharacter before, ZithiaCharacter after) {
+        return compare(before.snapshot(), after.snapshot());
+    }
+
+    /** Compares two characters saved in JSON (as written by JSONSerializer). */
+    public static List<Change> compare(JSONValue before, JSONValue after) {
+        CharacterDiff diff = new CharacterDiff();
+        diff.compareJSONCharacters(object(before), object(after));
+        return Collections.unmodifiableList(diff.changes);
+    }
+
+
+    private void compareCharacters(CharacterSnapshot before, CharacterSnapshot after) {
+        compareValue("race/race", before.getRace(), after.getRace());
+        compareValue("names/name", before.getCharacterName(), after.getCharacterName());
+        compareValue("names/player", before.getPlayerName(), after.getPlayerName());
+        compareStats("statValues", before.getStats(), after.getStats());
+        compareSkills("skillList", before.getSkills(), after.getSkills());
+        compareWeapon("weaponTraining", before.getWeaponTraining(), after.getWeaponTraining());
+        compareTalents("talentList", before.getTalents(), after.getTalents());
+        compareCosts("costs", before.getCosts(), after.getCosts());
+        compareTweak("combatValues/offense", before.getOffense(), after.getOffense());
+        compareTweak("combatValues/defense", before.getDefense(), after.getDefense());
+        compareArmor("armorValue", before.getArmor(), after.getArmor());
+        compareValue("notes/background", before.getBackground(), after.getBackground());
+    }
+
+    private void compareValue(String path, Object before, Object after) {
+        if (before == null ? after != null : !before.equals(after)) {
+            changes.add(new Change(Kind.CHANGED, path, before, after));
+        }
+    }
+
+    private void compareValue(String path, int before, int after) {
+        if (before != after) {
+            changes.add(new Change(Kind.CHANGED, path, before, after));
+        }
+    }
+
+    private void compareValue(String path, boolean before, boolean after) {
+        if (before != after) {
+            changes.add(new Change(Kind.CHANGED, path, before, after));
+        }
+    }
+
+    /**
+     * Compares just the tweaks, since the value itself is calculated.
+     * Either may be null (for the roll of a skill that has no roll).
+     */
+    private void compareTweak(String path, Tweakable before, Tweakable after) {
+        if (before == after || before == null || after == null) {
+            return;
+        }
+        Integer oldOverride = before.getOverride();
+        Integer newOverride = after.getOverride();
+        Integer oldModifier = before.getModifier();
+        Integer newModifier = after.getModifier();
+        if ((oldOverride == null ? newOverride != null : !oldOverride.equals(newOverride)) ||
+                (oldModifier == null ? newModifier != null : !oldModifier.equals(newModifier)))
+        {
+            changes.add(new Change(Kind.CHANGED, path, before, after));
+        }
+    }
+
+    private void compareStats(String path, List<Stat> before, List<Stat> after) {
+        if (before == after) {
+            return;
+        }
+        for (int i=0; i<after.size(); i++) {
+            Stat oldStat = before.get(i);
+            Stat newStat = after.get(i);
+            if (oldStat != newStat) {
+                String statPath = path + "/" + newStat.getStat().getName();
+                compareValue(statPath + "/value", oldStat.getValue(), newStat.getValue());
+                compareTweak(statPath + "/roll", oldStat.getRoll(), newStat.getRoll());
+                compareTweak(statPath + "/cost", oldStat.getCost(), newStat.getCost());
+            }
+        }
+    }
+
+    /**
+     * Works out the keys for two lists of skills, either of which may hold
+     * the same skill more than once. Each copy in the old list is keyed by
+     * its id, with "#2", "#3" and so on added for the second and later
+     * copies. A copy in the new list takes the key of an old copy with the
+     * same settings if there is one, or else of the first old copy still
+     * unmatched, so removing one copy doesn't make the copies after it
+     * look changed. New copies left over are numbered after the old ones.
+     *
+     * @param oldSettings the settings of each old skill, as a string;
+     *   they are only compared to newSettings.
+     */
+    private static void skillKeys(List<String> oldIds, List<String> oldSettings,
+                                  List<String> newIds, List<String> newSettings,
+                                  List<String> oldKeys, List<String> newKeys)
+    {
+        Map<String,Integer> copies = new HashMap<String,Integer>();
+        Map<String,LinkedList<Integer>> unmatchedById = new HashMap<String,LinkedList<Integer>>();
+        Map<String,LinkedList<Integer>> unmatchedBySettings = new HashMap<String,LinkedList<Integer>>();
+        for (int i=0; i<oldIds.size(); i++) {
+            String id = oldIds.get(i);
+            oldKeys.add(copyKey(id, copies));
+            queue(unmatchedById, id).add(i);
+            queue(unmatchedBySettings, id + " " + oldSettings.get(i)).add(i);
+        }
+        boolean[] matched = new boolean[oldIds.size()];
+        String[] keys = new String[newIds.size()];
+        // -- First match the copies that are unchanged --
+        for (int i=0; i<newIds.size(); i++) {
+            LinkedList<Integer> same = unmatchedBySettings.get(newIds.get(i) + " " + newSettings.get(i));
+            if (same != null && !same.isEmpty()) {
+                int oldPosition = same.removeFirst();
+                matched[oldPosition] = true;
+                keys[i] = oldKeys.get(oldPosition);
+            }
+        }
+        // -- Then the rest, in order --
+        for (int i=0; i<newIds.size(); i++) {
+            if (keys[i] == null) {
+                String id = newIds.get(i);
+                LinkedList<Integer> left = unmatchedById.get(id);
+                while (left != null && !left.isEmpty() && matched[left.getFirst()]) {
+                    left.removeFirst();
+                }
+                if (left != null && !left.isEmpty()) {
+                    int oldPosition = left.removeFirst();
+                    matched[oldPosition] = true;
+                    keys[i] = oldKeys.get(oldPosition);
+                } else {
+                    keys[i] = copyKey(id, copies);
+                }
+            }
+        }
+        for (String key : keys) {
+            newKeys.add(key);
+        }
+    }
+
+    /** Returns the key for the next copy of the skill with this id. */
+    private static String copyKey(String id, Map<String,Integer> copies) {
+        Integer copiesSoFar = copies.get(id);
+        int copy = copiesSoFar == null ? 1 : copiesSoFar + 1;
+        copies.put(id, copy);
+        return copy == 1 ? id : id + "#" + copy;
+    }
+
+    private static LinkedList<Integer> queue(Map<String,LinkedList<Integer>> queues, String key) {
+        LinkedList<Integer> result = queues.get(key);
+        if (result == null) {
+            result = new LinkedList<Integer>();
+            queues.put(key, result);
+        }
+        return result;
+    }
+
+    private static String settings(Tweakable tweakable) {
+        return tweakable == null ? "" : tweakable.getOverride() + "/" + tweakable.getModifier();
+    }
+
+    private static void addIdsAndSettings(List<Skill> skills, List<String> ids, List<String> settings) {
+        for (Skill skill : skills) {
+            ids.add(skill.getSkill().getId());
+            settings.add(skill.getLevels() + " " + settings(skill.getRoll()) + " " + settings(skill.getCost()));
+        }
+    }
+
+    private void compareSkills(String path, List<Skill> before, List<Skill> after) {
+        if (before == after) {
+            return;
+        }
+        List<String> oldIds = new ArrayList<String>(before.size());
+        List<String> oldSettings = new ArrayList<String>(before.size());
+        List<String> newIds = new ArrayList<String>(after.size());
+        List<String> newSettings = new ArrayList<String>(after.size());
+        addIdsAndSettings(before, oldIds, oldSettings);
+        addIdsAndSettings(after, newIds, newSettings);
+        List<String> oldKeys = new ArrayList<String>(before.size());
+        List<String> newKeys = new ArrayList<String>(after.size());
+        skillKeys(oldIds, oldSettings, newIds, newSettings, oldKeys, newKeys);
+        int[] oldPositions = compareItems(path, before, oldKeys, after, newKeys);
+        for (int i=0; i<after.size(); i++) {
+            if (oldPositions[i] != -1) {
+                Skill oldSkill = before.get(oldPositions[i]);
+                Skill newSkill = after.get(i);
+                if (oldSkill != newSkill) {
+                    String skillPath = path + "/" + newKeys.get(i);
+                    compareValue(skillPath + "/levels", oldSkill.getLevels(), newSkill.getLevels());
+                    compareTweak(skillPath + "/roll", oldSkill.getRoll(), newSkill.getRoll());
+                    compareTweak(skillPath + "/cost", oldSkill.getCost(), newSkill.getCost());
+                }
+            }
+        }
+    }
+
+    private void compareWeapon(String path, Weapon before, Weapon after) {
+        if (before == after) {
+            return;
+        }
+        compareValue(path + "/basicTrainingDesired", before.getBasicTrainingDesired(), after.getBasicTrainingDesired());
+        compareValue(path + "/levelsPurchased", before.getLevelsPurchased(), after.getLevelsPurchased());
+        compareTweak(path + "/levels", before.getLevels(), after.getLevels());
+        compareTweak(path + "/thisCost", before.getThisCost(), after.getThisCost());
+        compareTweak(path + "/totalCost", before.getTotalCost(), after.getTotalCost());
+        List<Weapon> oldChildren = before.getChildren();
+        List<Weapon> newChildren = after.getChildren();
+        if (oldChildren != newChildren) {
+            List<String> oldKeys = weaponKeys(oldChildren);
+            List<String> newKeys = weaponKeys(newChildren);
+            int[] oldPositions = compareItems(path, oldChildren, oldKeys, newChildren, newKeys);
+            for (int i=0; i<newChildren.size(); i++) {
+                if (oldPositions[i] != -1) {
+                    compareWeapon(path + "/" + newKeys.get(i), oldChildren.get(oldPositions[i]), newChildren.get(i));
+                }
+            }
+        }
+    }
+
+    /** A weapon skill appears at most once among its siblings, so its id will do as the key. */
+    private static List<String> weaponKeys(List<Weapon> weapons) {
+        List<String> result = new ArrayList<String>(weapons.size());
+        for (Weapon weapon : weapons) {
+            result.add(weapon.getWeaponSkill().getId());
+        }
+        return result;
+    }
+
+    /**
+     * Talents have no id, so they are matched up by position. A talent
+     * inserted in the middle shows up as changes to the ones after it.
+     */
+    private void compareTalents(String path, List<Talent> before, List<Talent> after) {
+        if (before == after) {
+            return;
+        }
+        int common = Math.min(before.size(), after.size());
+        for (int i=0; i<common; i++) {
+            Talent oldTalent = before.get(i);
+            Talent newTalent = after.get(i);
+            if (oldTalent != newTalent) {
+                compareValue(path + "/" + i + "/description", oldTalent.getDescription(), newTalent.getDescription());
+                compareValue(path + "/" + i + "/cost", oldTalent.getCost(), newTalent.getCost());
+            }
+        }
+        for (int i=common; i<before.size(); i++) {
+            changes.add(new Change(Kind.REMOVED, path + "/" + i, before.get(i), null));
+        }
+        for (int i=common; i<after.size(); i++) {
+            changes.add(new Change(Kind.ADDED, path + "/" + i, null, after.get(i)));
+        }
+    }
+
+    private void compareCosts(String path, Costs before, Costs after) {
+        if (before == after) {
+            return;
+        }
+        compareTweak(path + "/raceCost", before.getRaceCost(), after.getRaceCost());
+        compareTweak(path + "/statCost", before.getStatCost(), after.getStatCost());
+        compareTweak(path + "/skillCost", before.getSkillCost(), after.getSkillCost());
+        compareTweak(path + "/weaponSkillCost", before.getWeaponSkillCost(), after.getWeaponSkillCost());
+        compareTweak(path + "/talentCost", before.getTalentCost(), after.getTalentCost());
+        compareTweak(path + "/totalCost", before.getTotalCost(), after.getTotalCost());
+        compareValue(path + "/basePts", before.getBasePts(), after.getBasePts());
+        compareValue(path + "/loanPts", before.getLoanPts(), after.getLoanPts());
+        compareTweak(path + "/expSpent", before.getExpSpent(), after.getExpSpent());
+        compareValue(path + "/expEarned", before.getExpEarned(), after.getExpEarned());
+        compareTweak(path + "/paidForLoan", before.getPaidForLoan(), after.getPaidForLoan());
+        compareTweak(path + "/expUnspent", before.getExpUnspent(), after.getExpUnspent());
+    }
+
+    private void compareArmor(String path, Armor before, Armor after) {
+        if (before == after) {
+            return;
+        }
+        compareValue(path + "/armorType", before.getArmorType(), after.getArmorType());
+        compareTweak(path + "/hpBlock", before.getHpBlock(), after.getHpBlock());
+        compareTweak(path + "/stunBlock", before.getStunBlock(), after.getStunBlock());
+        compareTweak(path + "/defPenalty", before.getDefPenalty(), after.getDefPenalty());
+    }
+
+    /**
+     * Matches up the items of two lists by key and records the items
+     * that were removed, added or moved. Items are reported as moved
+     * only if they have to be: the largest set of matched items that
+     * are still in the same relative order stay where they are.
+     *
+     * @return for each item of after, the position of the matching item
+     *   in before, or -1 if it is new.
+     */
+    private int[] compareItems(String path, List<?> before, List<String> oldKeys,
+                               List<?> after, List<String> newKeys)
+    {
+        Map<String,Integer> oldPositionByKey = new HashMap<String,Integer>();
+        for (int i=0; i<oldKeys.size(); i++) {
+            oldPositionByKey.put(oldKeys.get(i), i);
+        }
+        int[] oldPositions = new int[after.size()];
+        boolean[] kept = new boolean[before.size()];
+        for (int i=0; i<after.size(); i++) {
+            Integer oldPosition = oldPositionByKey.get(newKeys.get(i));
+            oldPositions[i] = oldPosition == null ? -1 : oldPosition;
+            if (oldPosition != null) {
+                kept[oldPosition] = true;
+            }
+        }
+        for (int i=0; i<before.size(); i++) {
+            if (!kept[i]) {
+                changes.add(new Change(Kind.REMOVED, path + "/" + oldKeys.get(i), before.get(i), null));
+            }
+        }
+        boolean[] inOrder = SequenceUtil.longestIncreasing(oldPositions);
+        for (int i=0; i<after.size(); i++) {
+            if (oldPositions[i] == -1) {
+                changes.add(new Change(Kind.ADDED, path + "/" + newKeys.get(i), null, after.get(i)));
+            } else if (!inOrder[i]) {
+                changes.add(new Change(Kind.MOVED, path + "/" + newKeys.get(i), oldPositions[i], i));
+            }
+        }
+        return oldPositions;
+    }
+
+
+    // ==== Comparing JSON ====
+    //
+    // These follow the comparisons of snapshots above, field for field.
+    // Anything the JSONSerializer leaves out has its default value, the
+    // same as when the JSONDeserializer loads it.
+
+    private void compareJSONCharacters(JSONObject before, JSONObject after) {
+        compareValue("race/race", race(before), race(after));
+        JSONObject oldNames = object(before.get("names"));
+        JSONObject newNames = object(after.get("names"));
+        compareValue("names/name", stringField(oldNames, "name"), stringField(newNames, "name"));
+        compareValue("names/player", stringField(oldNames, "player"), stringField(newNames, "player"));
+        compareJSONStats("statValues", array(before.get("statValues")), array(after.get("statValues")));
+        compareJSONSkills("skillList", listField(before, "skillList"), listField(after, "skillList"));
+        compareJSONWeapon("weaponTraining", object(before.get("weaponTraining")), object(after.get("weaponTraining")));
+        compareJSONTalents("talentList", listField(before, "talentList"), listField(after, "talentList"));
+        compareJSONCosts("costs", optionalObject(before, "costs"), optionalObject(after, "costs"));
+        JSONObject oldCombat = optionalObject(before, "combatValues");
+        JSONObject newCombat = optionalObject(after, "combatValues");
+        compareJSONTweak("combatValues/offense", oldCombat, newCombat, "offense");
+        compareJSONTweak("combatValues/defense", oldCombat, newCombat, "defense");
+        compareJSONArmor("armorValue", optionalObject(before, "armorValue"), optionalObject(after, "armorValue"));
+        compareValue("notes/background",
+                stringField(optionalObject(before, "notes"), "background"),
+                stringField(optionalObject(after, "notes"), "background"));
+    }
+
+    /** Compares the tweaks saved in the field of each parent (either of which may be null). */
+    private void compareJSONTweak(String path, JSONObject oldParent, JSONObject newParent, String fieldName) {
+        JSONObject before = optionalObject(oldParent, fieldName);
+        JSONObject after = optionalObject(newParent, fieldName);
+        if (!settings(before).equals(settings(after))) {
+            changes.add(new Change(Kind.CHANGED, path, before, after));
+        }
+    }
+
+    private void compareJSONStats(String path, JSONArray before, JSONArray after) {
+        if (before.size() != ZithiaStat.getNumStats() || after.size() != ZithiaStat.getNumStats()) {
+            throw new JSONBuildException();
+        }
+        for (ZithiaStat zithiaStat : ZithiaStat.values()) {
+            JSONObject oldStat = object(before.get(zithiaStat.ordinal()));
+            JSONObject newStat = object(after.get(zithiaStat.ordinal()));
+            String statPath = path + "/" + zithiaStat.getName();
+            compareValue(statPath + "/value", intField(oldStat, "value"), intField(newStat, "value"));
+            compareJSONTweak(statPath + "/roll", oldStat, newStat, "roll");
+            compareJSONTweak(statPath + "/cost", oldStat, newStat, "cost");
+        }
+    }
+
+    private static void addJSONIdsAndSettings(List<JSONObject> skills, List<String> ids, List<String> settings) {
+        for (JSONObject skill : skills) {
+            ids.add(stringField(object(skill.get("skill")), "id"));
+            settings.add(intField(skill, "levels") + " " +
+                    settings(optionalObject(skill, "roll")) + " " + settings(optionalObject(skill, "cost")));
+        }
+    }
+
+    private void compareJSONSkills(String path, List<JSONObject> before, List<JSONObject> after) {
+        List<String> oldIds = new ArrayList<String>(before.size());
+        List<String> oldSettings = new ArrayList<String>(before.size());
+        List<String> newIds = new ArrayList<String>(after.size());
+        List<String> newSettings = new ArrayList<String>(after.size());
+        addJSONIdsAndSettings(before, oldIds, oldSettings);
+        addJSONIdsAndSettings(after, newIds, newSettings);
+        List<String> oldKeys = new ArrayList<String>(before.size());
+        List<String> newKeys = new ArrayList<String>(after.size());
+        skillKeys(oldIds, oldSettings, newIds, newSettings, oldKeys, newKeys);
+        int[] oldPositions = compareItems(path, before, oldKeys, after, newKeys);
+        for (int i=0; i<after.size(); i++) {
+            if (oldPositions[i] != -1 && !oldSettings.get(oldPositions[i]).equals(newSettings.get(i))) {
+                JSONObject oldSkill = before.get(oldPositions[i]);
+                JSONObject newSkill = after.get(i);
+                String skillPath = path + "/" + newKeys.get(i);
+                compareValue(skillPath + "/levels", intField(oldSkill, "levels"), intField(newSkill, "levels"));
+                compareJSONTweak(skillPath + "/roll", oldSkill, newSkill, "roll");
+                compareJSONTweak(skillPath + "/cost", oldSkill, newSkill, "cost");
+            }
+        }
+    }
+
+    private void compareJSONWeapon(String path, JSONObject before, JSONObject after) {
+        compareValue(path + "/basicTrainingDesired",
+                booleanField(before, "basicTrainingDesired"), booleanField(after, "basicTrainingDesired"));
+        compareValue(path + "/levelsPurchased", intField(before, "levelsPurchased"), intField(after, "levelsPurchased"));
+        compareJSONTweak(path + "/levels", before, after, "levels");
+        compareJSONTweak(path + "/thisCost", before, after, "thisCost");
+        compareJSONTweak(path + "/totalCost", before, after, "totalCost");
+        List<JSONObject> oldChildren = listField(before, "children");
+        List<JSONObject> newChildren = listField(after, "children");
+        List<String> oldKeys = jsonWeaponKeys(oldChildren);
+        List<String> newKeys = jsonWeaponKeys(newChildren);
+        int[] oldPositions = compareItems(path, oldChildren, oldKeys, newChildren, newKeys);
+        for (int i=0; i<newChildren.size(); i++) {
+            if (oldPositions[i] != -1) {
+                compareJSONWeapon(path + "/" + newKeys.get(i), oldChildren.get(oldPositions[i]), newChildren.get(i));
+            }
+        }
+    }
+
+    private static List<String> jsonWeaponKeys(List<JSONObject> weapons) {
+        List<String> result = new ArrayList<String>(weapons.size());
+        for (JSONObject weapon : weapons) {
+            result.add(stringField(object(weapon.get("weaponSkill")), "id"));
+        }
+        return result;
+    }
+
+    private void compareJSONTalents(String path, List<JSONObject> before, List<JSONObject> after) {
+        int common = Math.min(before.size(), after.size());
+        for (int i=0; i<common; i++) {
+            JSONObject oldTalent = before.get(i);
+            JSONObject newTalent = after.get(i);
+            compareValue(path + "/" + i + "/description",
+                    stringField(oldTalent, "description"), stringField(newTalent, "description"));
+            compareValue(path + "/" + i + "/cost", intField(oldTalent, "cost"), intField(newTalent, "cost"));
+        }
+        for (int i=common; i<before.size(); i++) {
+            changes.add(new Change(Kind.REMOVED, path + "/" + i, before.get(i), null));
+        }
+        for (int i=common; i<after.size(); i++) {
+            changes.add(new Change(Kind.ADDED, path + "/" + i, null, after.get(i)));
+        }
+    }
+
+    /**
+     * The costs may be left out as a whole, leaving the ones a new
+     * character starts with. The talentCost isn't saved.
+     */
+    private void compareJSONCosts(String path, JSONObject before, JSONObject after) {
+        compareJSONTweak(path + "/raceCost", before, after, "raceCost");
+        compareJSONTweak(path + "/statCost", before, after, "statCost");
+        compareJSONTweak(path + "/skillCost", before, after, "skillCost");
+        compareJSONTweak(path + "/weaponSkillCost", before, after, "weaponSkillCost");
+        compareJSONTweak(path + "/totalCost", before, after, "totalCost");
+        compareValue(path + "/basePts", intField(before, "basePts", 30), intField(after, "basePts", 30));
+        compareValue(path + "/loanPts", intField(before, "loanPts", 0), intField(after, "loanPts", 0));
+        compareJSONTweak(path + "/expSpent", before, after, "expSpent");
+        compareValue(path + "/expEarned", intField(before, "expEarned", 0), intField(after, "expEarned", 0));
+        compareJSONTweak(path + "/paidForLoan", before, after, "paidForLoan");
+        compareJSONTweak(path + "/expUnspent", before, after, "expUnspent");
+    }
+
+    /** The armor is left out if it has the default settings. */
+    private void compareJSONArmor(String path, JSONObject before, JSONObject after) {
+        compareValue(path + "/armorType", armorType(before), armorType(after));
+        compareJSONTweak(path + "/hpBlock", before, after, "hpBlock");
+        compareJSONTweak(path + "/stunBlock", before, after, "stunBlock");
+        compareJSONTweak(path + "/defPenalty", before, after, "defPenalty");
+    }
+
+    private static String settings(JSONObject tweaks) {
+        return optionalInt(tweaks, "override") + "/" + optionalInt(tweaks, "modifier");
+    }
+
+    private static Race race(JSONObject character) {
+        JSONObject raceObject = optionalObject(character, "race");
+        return raceObject == null ? Race.Human : Race.valueOf(stringField(raceObject, "race"));
+    }
+
+    private static ArmorType armorType(JSONObject armor) {
+        return armor == null ? ArmorType.NONE : ArmorType.valueOf(stringField(armor, "armorType"));
+    }
+
+    private static <T> T notNull(T x) {
+        if (x == null) {
+            throw new JSONBuildException();
+        }
+        return x;
+    }
+
+    private static JSONObject object(JSONValue value) {
+        return notNull(notNull(value).isObject());
+    }
+
+    private static JSONArray array(JSONValue value) {
+        return notNull(notNull(value).isArray());
+    }
+
+    /** Returns null if the parent is null or the field is left out. */
+    private static JSONObject optionalObject(JSONObject parent, String fieldName) {
+        JSONValue value = parent == null ? null : parent.get(fieldName);
+        return value == null ? null : object(value);
+    }
+
+    /** Returns null if the parent is null or the field is left out. */
+    private static Integer optionalInt(JSONObject parent, String fieldName) {
+        JSONValue value = parent == null ? null : parent.get(fieldName);
+        return value == null ? null : Integer.valueOf((int) notNull(value.isNumber()).doubleValue());
+    }
+
+    private static int intField(JSONObject parent, String fieldName) {
+        return notNull(optionalInt(parent, fieldName));
+    }
+
+    /** Returns ifOmitted if the parent is null; otherwise the field must be there. */
+    private static int intField(JSONObject parent, String fieldName, int ifOmitted) {
+        return parent == null ? ifOmitted : intField(parent, fieldName);
+    }
+
+    private static boolean booleanField(JSONObject parent, String fieldName) {
+        return notNull(notNull(parent.get(fieldName)).isBoolean()).booleanValue();
+    }
+
+    /** Empty strings are left out, so this returns "" if the parent is null or the field is missing. */
+    private static String stringField(JSONObject parent, String fieldName) {
+        JSONValue value = parent == null ? null : parent.get(fieldName);
+        return value == null ? "" : notNull(value.isString()).stringValue();
+    }
+
+    /** Returns the objects in a list, or an empty list if it is left out. */
+    private static List<JSONObject> listField(JSONObject parent, String fieldName) {
+        JSONValue value = parent.get(fieldName);
+        if (value == null) {
+            return Collections.emptyList();
+        }
+        JSONArray array = array(value);
+        List<JSONObject> result = new ArrayList<JSONObject>(array.size());
+        for (int i=0; i<array.size(); i++) {
+            result.add(object(array.get(i)));
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,534 @@
+/*
+ * Copyright 2009 Michael Chermside
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.mcherm.zithiacharsheet.client.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.mcherm.zithiacharsheet.client.model.weapon.WeaponSkill;
+import com.mcherm.zithiacharsheet.client.modeler.ObservableBoolean;
+import com.mcherm.zithiacharsheet.client.modeler.ObservableInt;
+import com.mcherm.zithiacharsheet.client.modeler.TweakableIntValue;
+
+
+/**
+ * A ZithiaCharacter flattened into a table of ints. The observable objects
+ * that make up a character are convenient for the UI but heavy: thousands
+ * of little objects per character. When you want to evaluate lots of
+ * characters (like on the server), compile a program once from a character
+ * with the right structure (the same skills, talents and weapon training
+ * tree) and then each character is just an int[] of "slots".
+ * <p>
+ * Every value in the character gets a slot. Inputs (the things that are
+ * set, like stat values and skill levels) take one slot; enums are stored
+ * as their ordinal and booleans as 0 or 1. Calculated values take three
+ * slots: the value, then the tweak mode (TWEAK_NONE, TWEAK_OVERRIDE or
+ * TWEAK_MODIFIER), then the tweak amount. The program is a list of steps
+ * in dependency order; evaluate() runs them all in one pass, producing the
+ * same values (tweaks included) that the observable objects would. The
+ * formulas themselves are shared with the model classes.
+ * <p>
+ * Slots have names; the names are the same paths used by
+ * DependencyGraphSerializer.getNamedValues(), such as "statValues.Str.roll".
+ * <p>
+ * A program is never changed after it is compiled, so one program can be
+ * used for many characters at once.
+ */
+public final class CharacterProgram {
+
+    public static final int TWEAK_NONE = 0;
+    public static final int TWEAK_OVERRIDE = 1;
+    public static final int TWEAK_MODIFIER = 2;
+
+    // ==== Operations ====
+    // Each step in the code is: operation, target slot, constant index, number of operands, operands...
+    private static final int OP_COPY = 0;
+    private static final int OP_SUM = 1;
+    private static final int OP_RACE_COST = 2;
+    private static final int OP_ARMOR_HP_BLOCK = 3;
+    private static final int OP_ARMOR_STUN_BLOCK = 4;
+    private static final int OP_ARMOR_DEF_PENALTY = 5;
+    private static final int OP_STAT_ROLL = 6;
+    private static final int OP_DEX_ROLL = 7;
+    private static final int OP_STAT_COST = 8;
+    private static final int OP_SKILL_COST = 9;
+    private static final int OP_TRAINED = 10;
+    private static final int OP_BASIC_TRAINING_PAID_HERE = 11;
+    private static final int OP_WEAPON_THIS_COST = 12;
+    private static final int OP_OFFENSE = 13;
+    private static final int OP_DEFENSE = 14;
+    private static final int OP_EXP_SPENT = 15;
+    private static final int OP_PAID_FOR_LOAN = 16;
+    private static final int OP_EXP_UNSPENT = 17;
+
+    private static final Race[] races = Race.values();
+    private static final ArmorType[] armorTypes = ArmorType.values();
+
+    private final int slotCount;
+    private final int[] code;
+    private final Object[] constants;
+    private final Map<String,Integer> slotsByName;
+
+
+    /** Constructor is private: use compile(). */
+    private CharacterProgram(int slotCount, int[] code, Object[] constants, Map<String,Integer> slotsByName) {
+        this.slotCount = slotCount;
+        this.code = code;
+        this.constants = constants;
+        this.slotsByName = slotsByName;
+    }
+
+    /**
+     * Creates a program for characters with the same structure (skills,
+     * talents and weapon training tree) as the one passed.
+     */
+    public static CharacterProgram compile(ZithiaCharacter zithiaCharacter) {
+        Walker walker = new Walker(Walker.COMPILE, null);
+        walker.walk(zithiaCharacter);
+        return new CharacterProgram(
+                walker.nextSlot, walker.getCode(), walker.constants.toArray(), walker.names);
+    }
+
+    /** Returns the number of ints needed to hold one character. */
+    public int getSlotCount() {
+        return slotCount;
+    }
+
+    /** Returns the slot with the given name, or -1 if there isn't one. */
+    public int getSlot(String name) {
+        Integer slot = slotsByName.get(name);
+        return slot == null ? -1 : slot.intValue();
+    }
+
+    /** Returns the names of all the slots, in order. */
+    public Iterable<String> getSlotNames() {
+        return slotsByName.keySet();
+    }
+
+    /** Returns a new, empty, set of slots. */
+    public int[] newSlots() {
+        return new int[slotCount];
+    }
+
+    /**
+     * Copies the inputs and tweaks of a character into slots. The
+     * character must have the same structure as the one this was compiled
+     * from. Call evaluate() afterward to fill in the calculated values.
+     */
+    public void load(ZithiaCharacter zithiaCharacter, int[] slots) {
+        Walker walker = new Walker(Walker.LOAD, slots);
+        walker.walk(zithiaCharacter);
+        if (walker.nextSlot != slotCount) {
+            throw new IllegalArgumentException("Character does not have the structure this was compiled for.");
+        }
+    }
+
+    /**
+     * Sets the tweak on a calculated value. As with setAdjustments(), at
+     * least one of override and modifier must be null. Call evaluate()
+     * afterward to update the calculated values.
+     */
+    public void setAdjustments(int[] slots, int slot, Integer override, Integer modifier) {
+        if (override != null && modifier != null) {
+            throw new IllegalArgumentException("Either override or modifier must be null.");
+        }
+        if (override != null) {
+            slots[slot + 1] = TWEAK_OVERRIDE;
+            slots[slot + 2] = override.intValue();
+        } else if (modifier != null) {
+            slots[slot + 1] = TWEAK_MODIFIER;
+            slots[slot + 2] = modifier.intValue();
+        } else {
+            slots[slot + 1] = TWEAK_NONE;
+            slots[slot + 2] = 0;
+        }
+    }
+
+    /**
+     * Recalculates every calculated value from the inputs and tweaks,
+     * in a single pass.
+     */
+    public void evaluate(int[] slots) {
+        final int[] code = this.code;
+        int pc = 0;
+        while (pc < code.length) {
+            final int op = code[pc];
+            final int target = code[pc + 1];
+            final Object constant = code[pc + 2] < 0 ? null : constants[code[pc + 2]];
+            final int count = code[pc + 3];
+            final int a = pc + 4; // position of first operand
+            final int raw;
+            switch (op) {
+                case OP_COPY:
+                    raw = slots[code[a]];
+                    break;
+                case OP_SUM: {
+                    int sum = 0;
+                    for (int i=0; i<count; i++) {
+                        sum += slots[code[a + i]];
+                    }
+                    raw = sum;
+                    break;
+                }
+                case OP_RACE_COST:
+                    raw = races[slots[code[a]]].getCost();
+                    break;
+                case OP_ARMOR_HP_BLOCK:
+                    raw = armorTypes[slots[code[a]]].getHpBlock();
+                    break;
+                case OP_ARMOR_STUN_BLOCK:
+                    raw = armorTypes[slots[code[a]]].getStunBlock();
+                    break;
+                case OP_ARMOR_DEF_PENALTY:
+                    raw = armorTypes[slots[code[a]]].getDefPenalty();
+                    break;
+                case OP_STAT_ROLL:
+                    raw = ((ZithiaStat) constant).getRoll(slots[code[a]]);
+                    break;
+                case OP_DEX_ROLL:
+                    raw = StatValue.calculateDexRoll(slots[code[a]], slots[code[a + 1]], slots[code[a + 2]]);
+                    break;
+                case OP_STAT_COST:
+                    raw = StatValue.calculateCost((ZithiaStat) constant,
+                            races[slots[code[a]]], slots[code[a + 1]]);
+                    break;
+                case OP_SKILL_COST:
+                    raw = ((ZithiaSkill) constant).getCost(slots[code[a]]);
+                    break;
+                case OP_TRAINED:
+                    raw = (slots[code[a]] != 0 || (count > 1 && slots[code[a + 1]] != 0)) ? 1 : 0;
+                    break;
+                case OP_BASIC_TRAINING_PAID_HERE:
+                    raw = (slots[code[a]] != 0 && !(count > 1 && slots[code[a + 1]] != 0)) ? 1 : 0;
+                    break;
+                case OP_WEAPON_THIS_COST:
+                    raw = WeaponTraining.calculateThisCost((WeaponSkill) constant,
+                            slots[code[a]] != 0, slots[code[a + 1]]);
+                    break;
+                case OP_OFFENSE:
+                    raw = CombatValues.calculateOffense(slots[code[a]]);
+                    break;
+                case OP_DEFENSE:
+                    raw = CombatValues.calculateDefense(slots[code[a]], slots[code[a + 1]], slots[code[a + 2]]);
+                    break;
+                case OP_EXP_SPENT:
+                    raw = ZithiaCosts.calculateExpSpent(slots[code[a]], slots[code[a + 1]], slots[code[a + 2]]);
+                    break;
+                case OP_PAID_FOR_LOAN:
+                    raw = ZithiaCosts.calculatePaidForLoan(slots[code[a]], slots[code[a + 1]]);
+                    break;
+                case OP_EXP_UNSPENT:
+                    raw = ZithiaCosts.calculateExpUnspent(slots[code[a]], slots[code[a + 1]], slots[code[a + 2]]);
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown operation " + op);
+            }
+            switch (slots[target + 1]) {
+                case TWEAK_OVERRIDE:
+                    slots[target] = slots[target + 2];
+                    break;
+                case TWEAK_MODIFIER:
+                    slots[target] = raw + slots[target + 2];
+                    break;
+                default:
+                    slots[target] = raw;
+            }
+            pc = a + count;
+        }
+    }
+
+    /**
+     * Compares every value in the slots with the same value in a character
+     * and returns a description of each one that differs (so an empty list
+     * means they match). The character must have the same structure as the
+     * one this was compiled from.
+     */
+    public List<String> findDifferences(ZithiaCharacter zithiaCharacter, int[] slots) {
+        Walker walker = new Walker(Walker.CHECK, slots);
+        walker.walk(zithiaCharacter);
+        return walker.differences;
+    }
+
+
+    /**
+     * Walks through a character, visiting every value in a fixed order.
+     * The same walk is used to compile a program, to load the slots and
+     * to compare the slots with a character, so the slot numbers always
+     * agree.
+     */
+    private static class Walker {
+        private static final int COMPILE = 0;
+        private static final int LOAD = 1;
+        private static final int CHECK = 2;
+
+        private final int mode;
+        private final int[] slots;
+        private int nextSlot;
+        private final List<Integer> code;
+        private final List<Object> constants;
+        private final Map<Object,Integer> constantIndexes;
+        private final Map<String,Integer> names;
+        private final List<String> differences;
+
+        private Walker(int mode, int[] slots) {
+            this.mode = mode;
+            this.slots = slots;
+            this.nextSlot = 0;
+            this.code = new ArrayList<Integer>();
+            this.constants = new ArrayList<Object>();
+            this.constantIndexes = new HashMap<Object,Integer>();
+            this.names = new LinkedHashMap<String,Integer>();
+            this.differences = new ArrayList<String>();
+        }
+
+        private int[] getCode() {
+            int[] result = new int[code.size()];
+            for (int i=0; i<result.length; i++) {
+                result[i] = code.get(i).intValue();
+            }
+            return result;
+        }
+
+        /** Visits an input. Returns its slot. */
+        private int input(String name, int liveValue) {
+            final int slot = nextSlot;
+            nextSlot += 1;
+            switch (mode) {
+                case COMPILE:
+                    names.put(name, Integer.valueOf(slot));
+                    break;
+                case LOAD:
+                    slots[slot] = liveValue;
+                    break;
+                case CHECK:
+                    check(name, liveValue, slots[slot]);
+                    break;
+            }
+            return slot;
+        }
+
+        /**
+         * Visits a calculated value. Returns its slot.
+         *
+         * @param name the name, or null if it doesn't get one.
+         * @param live the value in the character (an ObservableInt or
+         *   ObservableBoolean), or null if it isn't accessible.
+         * @param op the operation that calculates it.
+         * @param constant the object the operation needs, or null.
+         * @param operands the slots the operation reads.
+         */
+        private int calculated(String name, Object live, int op, Object constant, int... operands) {
+            final int slot = nextSlot;
+            nextSlot += 3;
+            switch (mode) {
+                case COMPILE:
+                    if (name != null) {
+                        names.put(name, Integer.valueOf(slot));
+                    }
+                    code.add(Integer.valueOf(op));
+                    code.add(Integer.valueOf(slot));
+                    code.add(Integer.valueOf(constantIndex(constant)));
+                    code.add(Integer.valueOf(operands.length));
+                    for (int operand : operands) {
+                        code.add(Integer.valueOf(operand));
+                    }
+                    break;
+                case LOAD:
+                    if (live instanceof TweakableIntValue) {
+                        TweakableIntValue tweakable = (TweakableIntValue) live;
+                        if (tweakable.getOverride() != null) {
+                            slots[slot + 1] = TWEAK_OVERRIDE;
+                            slots[slot + 2] = tweakable.getOverride().intValue();
+                        } else if (tweakable.getModifier() != null) {
+                            slots[slot + 1] = TWEAK_MODIFIER;
+                            slots[slot + 2] = tweakable.getModifier().intValue();
+                        } else {
+                            slots[slot + 1] = TWEAK_NONE;
+                            slots[slot + 2] = 0;
+                        }
+                    }
+                    break;
+                case CHECK:
+                    if (live instanceof ObservableInt) {
+                        check(name, ((ObservableInt) live).getValue(), slots[slot]);
+                    } else if (live instanceof ObservableBoolean) {
+                        check(name, ((ObservableBoolean) live).getValue() ? 1 : 0, slots[slot]);
+                    }
+                    break;
+            }
+            return slot;
+        }
+
+        private int constantIndex(Object constant) {
+            if (constant == null) {
+                return -1;
+            }
+            Integer index = constantIndexes.get(constant);
+            if (index == null) {
+                index = Integer.valueOf(constants.size());
+                constants.add(constant);
+                constantIndexes.put(constant, index);
+            }
+            return index.intValue();
+        }
+
+        private void check(String name, int expected, int actual) {
+            if (expected != actual) {
+                differences.add(name + ": expected " + expected + " but got " + actual);
+            }
+        }
+
+        private void walk(ZithiaCharacter zithiaCharacter) {
+            // -- Race and armor --
+            RaceValue raceValue = zithiaCharacter.getRaceValue();
+            int race = input("race.race", raceValue.getRace().getValue().ordinal());
+            int raceCost = calculated("race.cost", raceValue.getCost(), OP_RACE_COST, null, race);
+            ArmorValue armorValue = zithiaCharacter.getArmorValue();
+            int armorType = input("armorValue.armorType", armorValue.getArmorType().getValue().ordinal());
+            calculated("armorValue.hpBlock", armorValue.getHpBlock(), OP_ARMOR_HP_BLOCK, null, armorType);
+            calculated("armorValue.stunBlock", armorValue.getStunBlock(), OP_ARMOR_STUN_BLOCK, null, armorType);
+            int defPenalty = calculated("armorValue.defPenalty", armorValue.getDefPenalty(),
+                    OP_ARMOR_DEF_PENALTY, null, armorType);
+
+            // -- Stats --
+            StatValues statValues = zithiaCharacter.getStatValues();
+            int[] statValueSlots = new int[ZithiaStat.getNumStats()];
+            int[] statRollSlots = new int[ZithiaStat.getNumStats()];
+            int[] statCostSlots = new int[ZithiaStat.getNumStats()];
+            for (ZithiaStat stat : ZithiaStat.values()) {
+                statValueSlots[stat.ordinal()] = input(
+                        "statValues." + stat.getName() + ".value", statValues.getStat(stat).getValue().getValue());
+            }
+            for (ZithiaStat stat : ZithiaStat.values()) {
+                StatValue statValue = statValues.getStat(stat);
+                String prefix = "statValues." + stat.getName() + ".";
+                int value = statValueSlots[stat.ordinal()];
+                if (stat == ZithiaStat.DEX) {
+                    statRollSlots[stat.ordinal()] = calculated(prefix + "roll", statValue.getRoll(), OP_DEX_ROLL, null,
+                            value, defPenalty, statValueSlots[ZithiaStat.STR.ordinal()]);
+                } else {
+                    statRollSlots[stat.ordinal()] = calculated(prefix + "roll", statValue.getRoll(), OP_STAT_ROLL, stat,
+                            value);
+                }
+                statCostSlots[stat.ordinal()] = calculated(prefix + "cost", statValue.getCost(), OP_STAT_COST, stat,
+                        race, value);
+            }
+            int statsCost = calculated("statValues.cost", statValues.getCost(), OP_SUM, null, statCostSlots);
+
+            // -- Skills --
+            SkillList skillList = zithiaCharacter.getSkillList();
+            List<Integer> skillCostSlots = new ArrayList<Integer>();
+            for (SkillValue skillValue : skillList) {
+                ZithiaSkill skill = skillValue.getSkill();
+                String prefix = "skillList." + skill.getId() + ".";
+                int levels = input(prefix + "levels", skillValue.getLevels().getValue());
+                if (skill.getStat() != null) {
+                    calculated(prefix + "roll", skillValue.getRoll(), OP_SUM, null,
+                            statRollSlots[skill.getStat().ordinal()], levels);
+                }
+                skillCostSlots.add(Integer.valueOf(
+                        calculated(prefix + "cost", skillValue.getCost(), OP_SKILL_COST, skill, levels)));
+            }
+            int skillsCost = calculated("skillList.cost", skillList.getCost(), OP_SUM, null, toArray(skillCostSlots));
+
+            // -- Weapon training --
+            int weaponsCost = walk("weaponTraining.", zithiaCharacter.getWeaponTraining(), -1, -1);
+
+            // -- Talents --
+            TalentList talentList = zithiaCharacter.getTalentList();
+            List<Integer> talentCostSlots = new ArrayList<Integer>();
+            int talentNumber = 0;
+            for (TalentValue talentValue : talentList) {
+                talentCostSlots.add(Integer.valueOf(
+                        input("talentList." + talentNumber + ".cost", talentValue.getCost().getValue())));
+                talentNumber++;
+            }
+            int talentsCost = calculated("talentList.cost", talentList.getCost(), OP_SUM, null, toArray(talentCostSlots));
+
+            // -- Costs --
+            ZithiaCosts costs = zithiaCharacter.getCosts();
+            calculated("costs.raceCost", costs.getRaceCost(), OP_COPY, null, raceCost);
+            int statCost = calculated("costs.statCost", costs.getStatCost(), OP_COPY, null, statsCost);
+            int skillCost = calculated("costs.skillCost", costs.getSkillCost(), OP_COPY, null, skillsCost);
+            int weaponSkillCost = calculated("costs.weaponSkillCost", costs.getWeaponSkillCost(), OP_COPY, null, weaponsCost);
+            int talentCost = calculated("costs.talentCost", costs.getTalentCost(), OP_COPY, null, talentsCost);
+            int totalCost = calculated("costs.totalCost", costs.getTotalCost(), OP_SUM, null,
+                    statCost, skillCost, weaponSkillCost, talentCost);
+            int basePts = input("costs.basePts", costs.getBasePts().getValue());
+            int loanPts = input("costs.loanPts", costs.getLoanPts().getValue());
+            int expSpent = calculated("costs.expSpent", costs.getExpSpent(), OP_EXP_SPENT, null,
+                    totalCost, basePts, loanPts);
+            int expEarned = input("costs.expEarned", costs.getExpEarned().getValue());
+            int paidForLoan = calculated("costs.paidForLoan", costs.getPaidForLoan(), OP_PAID_FOR_LOAN, null,
+                    loanPts, expEarned);
+            calculated("costs.expUnspent", costs.getExpUnspent(), OP_EXP_UNSPENT, null,
+                    expEarned, paidForLoan, expSpent);
+
+            // -- Combat values --
+            CombatValues combatValues = zithiaCharacter.getCombatValues();
+            int dex = statValueSlots[ZithiaStat.DEX.ordinal()];
+            int str = statValueSlots[ZithiaStat.STR.ordinal()];
+            calculated("combatValues.offense", combatValues.getOffense(), OP_OFFENSE, null, dex);
+            calculated("combatValues.defense", combatValues.getDefense(), OP_DEFENSE, null, dex, defPenalty, str);
+        }
+
+        /**
+         * Walks one WeaponTraining and its children. Returns the slot of its totalCost.
+         */
+        private int walk(String parentPrefix, WeaponTraining wt, int parentLevels, int parentTrained) {
+            String prefix = parentPrefix + wt.getWeaponSkill().getId() + ".";
+            int desired = input(prefix + "basicTrainingDesired", wt.getBasicTrainingDesired().getValue() ? 1 : 0);
+            int levelsPurchased = input(prefix + "levelsPurchased", wt.getLevelsPurchased().getValue());
+            int levels;
+            int trained;
+            int paidHere;
+            if (parentLevels < 0) {
+                levels = calculated(prefix + "levels", wt.getLevels(), OP_COPY, null, levelsPurchased);
+                trained = calculated(prefix + "trained", wt.isTrained(), OP_TRAINED, null, desired);
+                paidHere = calculated(prefix + "basicTrainingPaidHere", wt.getBasicTrainingPaidHere(),
+                        OP_BASIC_TRAINING_PAID_HERE, null, desired);
+            } else {
+                levels = calculated(prefix + "levels", wt.getLevels(), OP_SUM, null, levelsPurchased, parentLevels);
+                trained = calculated(prefix + "trained", wt.isTrained(), OP_TRAINED, null, desired, parentTrained);
+                paidHere = calculated(prefix + "basicTrainingPaidHere", wt.getBasicTrainingPaidHere(),
+                        OP_BASIC_TRAINING_PAID_HERE, null, desired, parentTrained);
+            }
+            int thisCost = calculated(prefix + "thisCost", wt.getThisCost(), OP_WEAPON_THIS_COST, wt.getWeaponSkill(),
+                    paidHere, levelsPurchased);
+            List<Integer> childCostSlots = new ArrayList<Integer>();
+            if (wt.hasChildren()) {
+                for (WeaponTraining child : wt.getChildren()) {
+                    childCostSlots.add(Integer.valueOf(walk(prefix, child, levels, trained)));
+                }
+            }
+            int childrenCost = calculated(null, null, OP_SUM, null, toArray(childCostSlots));
+            return calculated(prefix + "totalCost", wt.getTotalCost(), OP_SUM, null, thisCost, childrenCost);
+        }
+
+        private static int[] toArray(List<Integer> list) {
+            int[] result = new int[list.size()];
+            for (int i=0; i<result.length; i++) {
+                result[i] = list.get(i).intValue();
+            }
+            return result;
+        }
+    }
+
+}
@@ -0,0 +1,656 @@
+/*
+ * Copyright 2009 Michael Chermside
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.mcherm.zithiacharsheet.client.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.mcherm.zithiacharsheet.client.model.weapon.WeaponSkill;
+import com.mcherm.zithiacharsheet.client.modeler.TweakableIntValue;
+
+
+/**
+ * An immutable copy of all of the values of a ZithiaCharacter at one
+ * moment. Obtain one from ZithiaCharacter.snapshot(). Things that only
+ * read a character (like the serializer) can work from a snapshot while
+ * the character itself goes on changing.
+ * <p>
+ * Taking a snapshot reads every value but only creates objects for the
+ * parts that changed since the previous snapshot of the same character;
+ * everything else is the very same object as before. So taking one
+ * after every edit is cheap, and anyone comparing two snapshots can skip
+ * any part where the old and new objects are identical (==).
+ */
+public final class CharacterSnapshot {
+
+    /** The value of a TweakableIntValue, along with its tweaks. */
+    public static final class Tweakable {
+        private final int value;
+        private final Integer override;
+        private final Integer modifier;
+
+        private Tweakable(int value, Integer override, Integer modifier) {
+            this.value = value;
+            this.override = override;
+            this.modifier = modifier;
+        }
+
+        /** Returns null if live is null (as for the roll of a skill with no roll). */
+        private static Tweakable of(TweakableIntValue live, Tweakable previous) {
+            if (live == null) {
+                return null;
+            }
+            int value = live.getValue();
+            Integer override = live.getOverride();
+            Integer modifier = live.getModifier();
+            if (previous != null && previous.value == value &&
+                    same(previous.override, override) && same(previous.modifier, modifier))
+            {
+                return previous;
+            }
+            return new Tweakable(value, override, modifier);
+        }
+
+        public int getValue() {
+            return value;
+        }
+
+        public boolean isTweaked() {
+            return override != null || modifier != null;
+        }
+
+        public Integer getOverride() {
+            return override;
+        }
+
+        public Integer getModifier() {
+            return modifier;
+        }
+    }
+
+    /** One stat. */
+    public static final class Stat {
+        private final ZithiaStat stat;
+        private final int value;
+        private final Tweakable roll;
+        private final Tweakable cost;
+
+        private Stat(ZithiaStat stat, int value, Tweakable roll, Tweakable cost) {
+            this.stat = stat;
+            this.value = value;
+            this.roll = roll;
+            this.cost = cost;
+        }
+
+        private static Stat of(StatValue live, Stat previous) {
+            int value = live.getValue().getValue();
+            Tweakable roll = Tweakable.of(live.getRoll(), previous == null ? null : previous.roll);
+            Tweakable cost = Tweakable.of(live.getCost(), previous == null ? null : previous.cost);
+            if (previous != null && previous.stat == live.getStat() && previous.value == value &&
+                    previous.roll == roll && previous.cost == cost)
+            {
+                return previous;
+            }
+            return new Stat(live.getStat(), value, roll, cost);
+        }
+
+        public ZithiaStat getStat() {
+            return stat;
+        }
+
+        public int getValue() {
+            return value;
+        }
+
+        public Tweakable getRoll() {
+            return roll;
+        }
+
+        public Tweakable getCost() {
+            return cost;
+        }
+    }
+
+    /** One skill. */
+    public static final class Skill {
+        private final ZithiaSkill skill;
+        private final int levels;
+        private final Tweakable roll;
+        private final Tweakable cost;
+
+        private Skill(ZithiaSkill skill, int levels, Tweakable roll, Tweakable cost) {
+            this.skill = skill;
+            this.levels = levels;
+            this.roll = roll;
+            this.cost = cost;
+        }
+
+        private static Skill of(SkillValue live, Skill previous) {
+            if (previous != null && previous.skill != live.getSkill()) {
+                previous = null;
+            }
+            int levels = live.getLevels().getValue();
+            Tweakable roll = Tweakable.of(live.getRoll(), previous == null ? null : previous.roll);
+            Tweakable cost = Tweakable.of(live.getCost(), previous == null ? null : previous.cost);
+            if (previous != null && previous.levels == levels && previous.roll == roll && previous.cost == cost) {
+                return previous;
+            }
+            return new Skill(live.getSkill(), levels, roll, cost);
+        }
+
+        public ZithiaSkill getSkill() {
+            return skill;
+        }
+
+        public int getLevels() {
+            return levels;
+        }
+
+        /** Returns null if the skill has no roll. */
+        public Tweakable getRoll() {
+            return roll;
+        }
+
+        public Tweakable getCost() {
+            return cost;
+        }
+    }
+
+    /** One node of the weapon training tree, along with everything below it. */
+    public static final class Weapon {
+        private final WeaponSkill weaponSkill;
+        private final boolean basicTrainingDesired;
+        private final boolean basicTrainingPaidHere;
+        private final boolean trained;
+        private final int levelsPurchased;
+        private final Tweakable levels;
+        private final Tweakable thisCost;
+        private final Tweakable totalCost;
+        private final List<Weapon> children;
+
+        private Weapon(WeaponSkill weaponSkill, boolean basicTrainingDesired, boolean basicTrainingPaidHere,
+                       boolean trained, int levelsPurchased, Tweakable levels, Tweakable thisCost,
+                       Tweakable totalCost, List<Weapon> children)
+        {
+            this.weaponSkill = weaponSkill;
+            this.basicTrainingDesired = basicTrainingDesired;
+            this.basicTrainingPaidHere = basicTrainingPaidHere;
+            this.trained = trained;
+            this.levelsPurchased = levelsPurchased;
+            this.levels = levels;
+            this.thisCost = thisCost;
+            this.totalCost = totalCost;
+            this.children = children;
+        }
+
+        private static Weapon of(WeaponTraining live, Weapon previous) {
+            if (previous != null && previous.weaponSkill != live.getWeaponSkill()) {
+                previous = null;
+            }
+            boolean basicTrainingDesired = live.getBasicTrainingDesired().getValue();
+            boolean basicTrainingPaidHere = live.getBasicTrainingPaidHere().getValue();
+            boolean trained = live.isTrained().getValue();
+            int levelsPurchased = live.getLevelsPurchased().getValue();
+            Tweakable levels = Tweakable.of(live.getLevels(), previous == null ? null : previous.levels);
+            Tweakable thisCost = Tweakable.of(live.getThisCost(), previous == null ? null : previous.thisCost);
+            Tweakable totalCost = Tweakable.of(live.getTotalCost(), previous == null ? null : previous.totalCost);
+            List<Weapon> children = childrenOf(live, previous == null ? null : previous.children);
+            if (previous != null &&
+                    previous.basicTrainingDesired == basicTrainingDesired &&
+                    previous.basicTrainingPaidHere == basicTrainingPaidHere &&
+                    previous.trained == trained &&
+                    previous.levelsPurchased == levelsPurchased &&
+                    previous.levels == levels &&
+                    previous.thisCost == thisCost &&
+                    previous.totalCost == totalCost &&
+                    previous.children == children)
+            {
+                return previous;
+            }
+            return new Weapon(live.getWeaponSkill(), basicTrainingDesired, basicTrainingPaidHere,
+                    trained, levelsPurchased, levels, thisCost, totalCost, children);
+        }
+
+        private static List<Weapon> childrenOf(WeaponTraining live, List<Weapon> previous) {
+            List<Weapon> result = new ArrayList<Weapon>();
+            if (!live.hasChildren()) { // checked first, so leaves don't create a list of children
+                return previous != null && previous.isEmpty() ? previous : Collections.unmodifiableList(result);
+            }
+            boolean allSame = previous != null && previous.size() == live.getChildren().size();
+            int i = 0;
+            for (WeaponTraining liveChild : live.getChildren()) {
+                Weapon child = of(liveChild, findChild(previous, i, liveChild.getWeaponSkill()));
+                allSame = allSame && child == previous.get(i);
+                result.add(child);
+                i++;
+            }
+            if (allSame) {
+                return previous;
+            }
+            return Collections.unmodifiableList(result);
+        }
+
+        /**
+         * Returns the child for weaponSkill from the previous list or null.
+         * It's nearly always in the same position, so look there first.
+         */
+        private static Weapon findChild(List<Weapon> previous, int position, WeaponSkill weaponSkill) {
+            if (previous == null) {
+                return null;
+            }
+            if (position < previous.size() && previous.get(position).weaponSkill == weaponSkill) {
+                return previous.get(position);
+            }
+            for (Weapon weapon : previous) {
+                if (weapon.weaponSkill == weaponSkill) {
+                    return weapon;
+                }
+            }
+            return null;
+        }
+
+        public WeaponSkill getWeaponSkill() {
+            return weaponSkill;
+        }
+
+        public boolean getBasicTrainingDesired() {
+            return basicTrainingDesired;
+        }
+
+        public boolean getBasicTrainingPaidHere() {
+            return basicTrainingPaidHere;
+        }
+
+        public boolean isTrained() {
+            return trained;
+        }
+
+        public int getLevelsPurchased() {
+            return levelsPurchased;
+        }
+
+        public Tweakable getLevels() {
+            return levels;
+        }
+
+        public Tweakable getThisCost() {
+            return thisCost;
+        }
+
+        public Tweakable getTotalCost() {
+            return totalCost;
+        }
+
+        public boolean hasChildren() {
+            return !children.isEmpty();
+        }
+
+        /** Returns the children; the list cannot be modified. */
+        public List<Weapon> getChildren() {
+            return children;
+        }
+    }
+
+    /** One talent. */
+    public static final class Talent {
+        private final String description;
+        private final int cost;
+
+        private Talent(String description, int cost) {
+            this.description = description;
+            this.cost = cost;
+        }
+
+        private static Talent of(TalentValue live, Talent previous) {
+            String description = live.getDescription().getValue();
+            int cost = live.getCost().getValue();
+            if (previous != null && same(previous.description, description) && previous.cost == cost) {
+                return previous;
+            }
+            return new Talent(description, cost);
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public int getCost() {
+            return cost;
+        }
+    }
+
+    /** The point totals. */
+    public static final class Costs {
+        private final Tweakable raceCost;
+        private final Tweakable statCost;
+        private final Tweakable skillCost;
+        private final Tweakable weaponSkillCost;
+        private final Tweakable talentCost;
+        private final Tweakable totalCost;
+        private final int basePts;
+        private final int loanPts;
+        private final Tweakable expSpent;
+        private final int expEarned;
+        private final Tweakable paidForLoan;
+        private final Tweakable expUnspent;
+
+        private Costs(Tweakable raceCost, Tweakable statCost, Tweakable skillCost, Tweakable weaponSkillCost,
+                      Tweakable talentCost, Tweakable totalCost, int basePts, int loanPts, Tweakable expSpent,
+                      int expEarned, Tweakable paidForLoan, Tweakable expUnspent)
+        {
+            this.raceCost = raceCost;
+            this.statCost = statCost;
+            this.skillCost = skillCost;
+            this.weaponSkillCost = weaponSkillCost;
+            this.talentCost = talentCost;
+            this.totalCost = totalCost;
+            this.basePts = basePts;
+            this.loanPts = loanPts;
+            this.expSpent = expSpent;
+            this.expEarned = expEarned;
+            this.paidForLoan = paidForLoan;
+            this.expUnspent = expUnspent;
+        }
+
+        private static Costs of(ZithiaCosts live, Costs previous) {
+            boolean isNew = previous == null;
+            Tweakable raceCost = Tweakable.of(live.getRaceCost(), isNew ? null : previous.raceCost);
+            Tweakable statCost = Tweakable.of(live.getStatCost(), isNew ? null : previous.statCost);
+            Tweakable skillCost = Tweakable.of(live.getSkillCost(), isNew ? null : previous.skillCost);
+            Tweakable weaponSkillCost = Tweakable.of(live.getWeaponSkillCost(), isNew ? null : previous.weaponSkillCost);
+            Tweakable talentCost = Tweakable.of(live.getTalentCost(), isNew ? null : previous.talentCost);
+            Tweakable totalCost = Tweakable.of(live.getTotalCost(), isNew ? null : previous.totalCost);
+            int basePts = live.getBasePts().getValue();
+            int loanPts = live.getLoanPts().getValue();
+            Tweakable expSpent = Tweakable.of(live.getExpSpent(), isNew ? null : previous.expSpent);
+            int expEarned = live.getExpEarned().getValue();
+            Tweakable paidForLoan = Tweakable.of(live.getPaidForLoan(), isNew ? null : previous.paidForLoan);
+            Tweakable expUnspent = Tweakable.of(live.getExpUnspent(), isNew ? null : previous.expUnspent);
+            if (!isNew &&
+                    previous.raceCost == raceCost &&
+                    previous.statCost == statCost &&
+                    previous.skillCost == skillCost &&
+                    previous.weaponSkillCost == weaponSkillCost &&
+                    previous.talentCost == talentCost &&
+                    previous.totalCost == totalCost &&
+                    previous.basePts == basePts &&
+                    previous.loanPts == loanPts &&
+                    previous.expSpent == expSpent &&
+                    previous.expEarned == expEarned &&
+                    previous.paidForLoan == paidForLoan &&
+                    previous.expUnspent == expUnspent)
+            {
+                return previous;
+            }
+            return new Costs(raceCost, statCost, skillCost, weaponSkillCost, talentCost, totalCost,
+                    basePts, loanPts, expSpent, expEarned, paidForLoan, expUnspent);
+        }
+
+        public Tweakable getRaceCost() {
+            return raceCost;
+        }
+
+        public Tweakable getStatCost() {
+            return statCost;
+        }
+
+        public Tweakable getSkillCost() {
+            return skillCost;
+        }
+
+        public Tweakable getWeaponSkillCost() {
+            return weaponSkillCost;
+        }
+
+        public Tweakable getTalentCost() {
+            return talentCost;
+        }
+
+        public Tweakable getTotalCost() {
+            return totalCost;
+        }
+
+        public int getBasePts() {
+            return basePts;
+        }
+
+        public int getLoanPts() {
+            return loanPts;
+        }
+
+        public Tweakable getExpSpent() {
+            return expSpent;
+        }
+
+        public int getExpEarned() {
+            return expEarned;
+        }
+
+        public Tweakable getPaidForLoan() {
+            return paidForLoan;
+        }
+
+        public Tweakable getExpUnspent() {
+            return expUnspent;
+        }
+    }
+
+    /** The armor being worn. */
+    public static final class Armor {
+        private final ArmorType armorType;
+        private final Tweakable hpBlock;
+        private final Tweakable stunBlock;
+        private final Tweakable defPenalty;
+
+        private Armor(ArmorType armorType, Tweakable hpBlock, Tweakable stunBlock, Tweakable defPenalty) {
+            this.armorType = armorType;
+            this.hpBlock = hpBlock;
+            this.stunBlock = stunBlock;
+            this.defPenalty = defPenalty;
+        }
+
+        private static Armor of(ArmorValue live, Armor previous) {
+            ArmorType armorType = live.getArmorType().getValue();
+            Tweakable hpBlock = Tweakable.of(live.getHpBlock(), previous == null ? null : previous.hpBlock);
+            Tweakable stunBlock = Tweakable.of(live.getStunBlock(), previous == null ? null : previous.stunBlock);
+            Tweakable defPenalty = Tweakable.of(live.getDefPenalty(), previous == null ? null : previous.defPenalty);
+            if (previous != null && previous.armorType == armorType && previous.hpBlock == hpBlock &&
+                    previous.stunBlock == stunBlock && previous.defPenalty == defPenalty)
+            {
+                return previous;
+            }
+            return new Armor(armorType, hpBlock, stunBlock, defPenalty);
+        }
+
+        public ArmorType getArmorType() {
+            return armorType;
+        }
+
+        public Tweakable getHpBlock() {
+            return hpBlock;
+        }
+
+        public Tweakable getStunBlock() {
+            return stunBlock;
+        }
+
+        public Tweakable getDefPenalty() {
+            return defPenalty;
+        }
+
+        /** Same as ArmorValue.hasDefaultSettings(). */
+        public boolean hasDefaultSettings() {
+            return armorType == ArmorType.NONE &&
+                    !hpBlock.isTweaked() &&
+                    !stunBlock.isTweaked() &&
+                    !defPenalty.isTweaked();
+        }
+    }
+
+
+    private final Race race;
+    private final int raceCost;
+    private final String characterName;
+    private final String playerName;
+    private final List<Stat> stats;
+    private final List<Skill> skills;
+    private final Weapon weaponTraining;
+    private final List<Talent> talents;
+    private final Costs costs;
+    private final Tweakable offense;
+    private final Tweakable defense;
+    private final Armor armor;
+    private final String background;
+
+
+    /**
+     * Takes a snapshot of zithiaCharacter, sharing whatever is unchanged
+     * with previous (which may be null).
+     */
+    static CharacterSnapshot take(ZithiaCharacter zithiaCharacter, CharacterSnapshot previous) {
+        return new CharacterSnapshot(zithiaCharacter, previous);
+    }
+
+    private CharacterSnapshot(ZithiaCharacter zc, CharacterSnapshot previous) {
+        final boolean isNew = previous == null;
+        race = zc.getRaceValue().getRace().getValue();
+        raceCost = zc.getRaceValue().getCost().getValue();
+        characterName = zc.getNames().getCharacterName().getValue();
+        playerName = zc.getNames().getPlayerName().getValue();
+        stats = statsOf(zc.getStatValues(), isNew ? null : previous.stats);
+        skills = skillsOf(zc.getSkillList(), isNew ? null : previous.skills);
+        weaponTraining = Weapon.of(zc.getWeaponTraining(), isNew ? null : previous.weaponTraining);
+        talents = talentsOf(zc.getTalentList(), isNew ? null : previous.talents);
+        costs = Costs.of(zc.getCosts(), isNew ? null : previous.costs);
+        offense = Tweakable.of(zc.getCombatValues().getOffense(), isNew ? null : previous.offense);
+        defense = Tweakable.of(zc.getCombatValues().getDefense(), isNew ? null : previous.defense);
+        armor = Armor.of(zc.getArmorValue(), isNew ? null : previous.armor);
+        background = zc.getCharacterNotes().getBackground().getValue();
+    }
+
+    private static List<Stat> statsOf(StatValues live, List<Stat> previous) {
+        List<Stat> result = new ArrayList<Stat>(ZithiaStat.getNumStats());
+        boolean allSame = previous != null;
+        int i = 0;
+        for (StatValue statValue : live) {
+            Stat stat = Stat.of(statValue, previous == null ? null : previous.get(i));
+            allSame = allSame && stat == previous.get(i);
+            result.add(stat);
+            i++;
+        }
+        return allSame ? previous : Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Skills are matched up with the previous snapshot by position, which
+     * is right unless a skill was added or removed somewhere in the middle;
+     * in that case the ones after it just get copied again.
+     */
+    private static List<Skill> skillsOf(SkillList live, List<Skill> previous) {
+        List<Skill> result = new ArrayList<Skill>();
+        boolean allSame = previous != null && previous.size() == live.size();
+        int i = 0;
+        for (SkillValue skillValue : live) {
+            Skill skill = Skill.of(skillValue, previous != null && i < previous.size() ? previous.get(i) : null);
+            allSame = allSame && skill == previous.get(i);
+            result.add(skill);
+            i++;
+        }
+        return allSame ? previous : Collections.unmodifiableList(result);
+    }
+
+    private static List<Talent> talentsOf(TalentList live, List<Talent> previous) {
+        List<Talent> result = new ArrayList<Talent>();
+        boolean allSame = previous != null && previous.size() == live.size();
+        int i = 0;
+        for (TalentValue talentValue : live) {
+            Talent talent = Talent.of(talentValue, previous != null && i < previous.size() ? previous.get(i) : null);
+            allSame = allSame && talent == previous.get(i);
+            result.add(talent);
+            i++;
+        }
+        return allSame ? previous : Collections.unmodifiableList(result);
+    }
+
+    private static boolean same(Object x, Object y) {
+        return x == null ? y == null : x.equals(y);
+    }
+
+
+    public Race getRace() {
+        return race;
+    }
+
+    public int getRaceCost() {
+        return raceCost;
+    }
+
+    public String getCharacterName() {
+        return characterName;
+    }
+
+    public String getPlayerName() {
+        return playerName;
+    }
+
+    /** Returns the stats in the order of ZithiaStat; the list cannot be modified. */
+    public List<Stat> getStats() {
+        return stats;
+    }
+
+    /** Returns the value of a particular stat. */
+    public Stat getStat(ZithiaStat stat) {
+        return stats.get(stat.ordinal());
+    }
+
+    /** Returns the skills; the list cannot be modified. */
+    public List<Skill> getSkills() {
+        return skills;
+    }
+
+    /** Returns the top of the weapon training tree. */
+    public Weapon getWeaponTraining() {
+        return weaponTraining;
+    }
+
+    /** Returns the talents; the list cannot be modified. */
+    public List<Talent> getTalents() {
+        return talents;
+    }
+
+    public Costs getCosts() {
+        return costs;
+    }
+
+    public Tweakable getOffense() {
+        return offense;
+    }
+
+    public Tweakable getDefense() {
+        return defense;
+    }
+
+    public Armor getArmor() {
+        return armor;
+    }
+
+    public String getBackground() {
+        return background;
+    }
+
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2009 Michael Chermside
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.mcherm.zithiacharsheet.client.model;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.mcherm.zithiacharsheet.client.modeler.DependencyGraph;
+import com.mcherm.zithiacharsheet.client.modeler.GraphMetrics;
+import com.mcherm.zithiacharsheet.client.modeler.Observable;
+import com.mcherm.zithiacharsheet.client.util.JSONSerializerBase;
+
+
+/**
+ * This writes out the dependency graph of a ZithiaCharacter in JSON
+ * format, along with whatever GraphMetrics has collected for each node.
+ * It is meant for finding out where the time goes, not for saving
+ * anything. Use it the same way as JSONSerializer: create an instance
+ * with newInstance(), call serialize(), then call output().
+ * <p>
+ * The output is a dict with "nodes" (a list, in order of id) and
+ * "liveObservations". Each node has an "id", a "type", a "name" if it
+ * is one of the character's fields, its "depth" and "observerCount"
+ * (if known), the counts from GraphMetrics (if any), and "observers",
+ * a list of the ids of the nodes that observe it.
+ */
+public class DependencyGraphSerializer extends JSONSerializerBase {
+
+    private final InMemoryWriter inMemoryWriter;
+
+
+    private static class InMemoryWriter implements Writer {
+        private final StringBuilder stringBuilder = new StringBuilder();
+        public void write(String s) {
+            stringBuilder.append(s);
+        }
+        public String getOutput() {
+            return stringBuilder.toString();
+        }
+    }
+
+    /** Constructor is private: use factory function. */
+    private DependencyGraphSerializer(InMemoryWriter inMemoryWriter, boolean prettyPrint) {
+        super(inMemoryWriter, prettyPrint);
+        this.inMemoryWriter = inMemoryWriter;
+    }
+
+    /**
+     * Factory function to obtain instances.
+     */
+    public static DependencyGraphSerializer newInstance() {
+        return newInstance(false); // default prettyPrint to false.
+    }
+
+    /**
+     * Factory function to obtain instances.
+     */
+    public static DependencyGraphSerializer newInstance(boolean prettyPrint) {
+        return new DependencyGraphSerializer(new InMemoryWriter(), prettyPrint);
+    }
+
+    /**
+     * Extracts the output after the whole thing is serialized.
+     */
+    public String output() {
+        if (!isDone()) {
+            throw new RuntimeException("JSON output obtained before the tree was completed.");
+        } else {
+            return inMemoryWriter.getOutput();
+        }
+    }
+
+    /**
+     * Returns all the observable fields of a character, by name. The names
+     * are paths like "statValues.str.roll" or "skillList.climbing.cost".
+     */
+    public static Map<String,Observable> getNamedValues(ZithiaCharacter zithiaCharacter) {
+        Map<String,Observable> result = new LinkedHashMap<String,Observable>();
+        result.put("race.race", zithiaCharacter.getRaceValue().getRace());
+        result.put("race.cost", zithiaCharacter.getRaceValue().getCost());
+        result.put("names.name", zithiaCharacter.getNames().getCharacterName());
+        result.put("names.player", zithiaCharacter.getNames().getPlayerName());
+        for (StatValue statValue : zithiaCharacter.getStatValues()) {
+            String prefix = "statValues." + statValue.getStat().getName() + ".";
+            result.put(prefix + "value", statValue.getValue());
+            result.put(prefix + "roll", statValue.getRoll());
+            result.put(prefix + "cost", statValue.getCost());
+        }
+        result.put("statValues.cost", zithiaCharacter.getStatValues().getCost());
+        result.put("skillList", zithiaCharacter.getSkillList());
+        for (SkillValue skillValue : zithiaCharacter.getSkillList()) {
+            String prefix = "skillList." + skillValue.getSkill().getId() + ".";
+            result.put(prefix + "levels", skillValue.getLevels());
+            result.put(prefix + "roll", skillValue.getRoll());
+            result.put(prefix + "cost", skillValue.getCost());
+        }
+        result.put("skillList.cost", zithiaCharacter.getSkillList().getCost());
+        addNamedValues(result, "weaponTraining.", zithiaCharacter.getWeaponTraining());
+        result.put("talentList", zithiaCharacter.getTalentList());
+        int talentNumber = 0;
+        for (TalentValue talentValue : zithiaCharacter.getTalentList()) {
+            result.put("talentList." + talentNumber + ".cost", talentValue.getCost());
+            result.put("talentList." + talentNumber + ".description", talentValue.getDescription());
+            talentNumber++;
+        }
+        result.put("talentList.cost", zithiaCharacter.getTalentList().getCost());
+        ZithiaCosts costs = zithiaCharacter.getCosts();
+        result.put("costs.raceCost", costs.getRaceCost());
+        result.put("costs.statCost", costs.getStatCost());
+        result.put("costs.skillCost", costs.getSkillCost());
+        result.put("costs.weaponSkillCost", costs.getWeaponSkillCost());
+        result.put("costs.talentCost", costs.getTalentCost());
+        result.put("costs.totalCost", costs.getTotalCost());
+        result.put("costs.basePts", costs.getBasePts());
+        result.put("costs.loanPts", costs.getLoanPts());
+        result.put("costs.expSpent", costs.getExpSpent());
+        result.put("costs.expEarned", costs.getExpEarned());
+        result.put("costs.paidForLoan", costs.getPaidForLoan());
+        result.put("costs.expUnspent", costs.getExpUnspent());
+        result.put("combatValues.offense", zithiaCharacter.getCombatValues().getOffense());
+        result.put("combatValues.defense", zithiaCharacter.getCombatValues().getDefense());
+        ArmorValue armorValue = zithiaCharacter.getArmorValue();
+        result.put("armorValue.armorType", armorValue.getArmorType());
+        result.put("armorValue.hpBlock", armorValue.getHpBlock());
+        result.put("armorValue.stunBlock", armorValue.getStunBlock());
+        result.put("armorValue.defPenalty", armorValue.getDefPenalty());
+        result.put("notes.background", zithiaCharacter.getCharacterNotes().getBackground());
+        return result;
+    }
+
+    private static void addNamedValues(Map<String,Observable> result, String parentPrefix, WeaponTraining wt) {
+        String prefix = parentPrefix + wt.getWeaponSkill().getId();
+        result.put(prefix + ".basicTrainingDesired", wt.getBasicTrainingDesired());
+        result.put(prefix + ".basicTrainingPaidHere", wt.getBasicTrainingPaidHere());
+        result.put(prefix + ".levelsPurchased", wt.getLevelsPurchased());
+        result.put(prefix + ".levels", wt.getLevels());
+        result.put(prefix + ".thisCost", wt.getThisCost());
+        result.put(prefix + ".totalCost", wt.getTotalCost());
+        result.put(prefix + ".children", wt.getChildren());
+        for (WeaponTraining child : wt.getChildren()) {
+            addNamedValues(result, prefix + ".", child);
+        }
+    }
+
+    protected void serialize(DependencyGraph.Node node) {
+        emitStartDict();
+        emitDictItem("id", node.getId());
+        emitDictItem("type", node.getTypeName());
+        if (node.getName() != null) {
+            emitDictItem("name", node.getName());
+        }
+        if (node.isObservable()) {
+            Observable observable = (Observable) node.getTarget();
+            GraphMetrics metrics = GraphMetrics.getInstance();
+            if (metrics.getDepth(observable) >= 0) {
+                emitDictItem("depth", metrics.getDepth(observable));
+            }
+            if (metrics.getObserverCount(observable) >= 0) {
+                emitDictItem("observerCount", metrics.getObserverCount(observable));
+            }
+        }
+        GraphMetrics.NodeStats stats = node.getStats();
+        if (stats != null) {
+            emitDictItem("recomputeCount", stats.getRecomputeCount());
+            emitDictItem("recomputeMillis", (int) Math.round(stats.getRecomputeTime()));
+            emitDictItem("alertCount", stats.getAlertCount());
+            emitDictItem("fanOut", stats.getFanOut());
+        }
+        emitStartDictItem("observers");
+        emitStartList();
+        for (DependencyGraph.Node observer : node.getObservers()) {
+            emitStartListItem();
+            emitItem(observer.getId());
+        }
+        emitEndList();
+        emitEndDict();
+    }
+
+    public void serialize(ZithiaCharacter zithiaCharacter) {
+        DependencyGraph graph = new DependencyGraph(getNamedValues(zithiaCharacter));
+        emitStartDict();
+        emitStartDictItem("nodes");
+        emitStartList();
+        for (DependencyGraph.Node node : graph.getNodes()) {
+            emitStartListItem();
+            serialize(node);
+        }
+        emitEndList();
+        emitDictItem("liveObservations", GraphMetrics.getInstance().getLiveObservations());
+        emitEndDict();
+    }
+
+}
@@ -1,7 +1,7 @@
-package com.mcherm.zithiacharsheet.client.model;
-
-public class JSONBuildException extends RuntimeException {
-
-    private static final long serialVersionUID = 1L;
-
-}
+package com.mcherm.zithiacharsheet.client.model;
+
+public class JSONBuildException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2009 Michael Chermside
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.mcherm.zithiacharsheet.client.model;
+
+
+/**
+ * Precomputed tables for the game's formulas that run on every
+ * recalculation: stat costs, stat rolls and how strength offsets armor
+ * penalties. The tables are built once, from the formulas themselves,
+ * when this class is loaded; after that each lookup is a bounds check
+ * and an array read.
+ * <p>
+ * The tables cover the range of values that characters actually have.
+ * Anything outside that range falls back to the formula, so the results
+ * (and the exceptions for values where a formula makes no sense) are
+ * exactly what they would be without the tables.
+ */
+public final class RulesTables {
+
+    /** Lowest pointsRaised in the stat cost tables (a stat of 1). */
+    public static final int MIN_POINTS_RAISED = -9;
+    /** Highest pointsRaised in the stat cost tables. */
+    public static final int MAX_POINTS_RAISED = 90;
+    /** Lowest stat value in the roll and armor tables. */
+    public static final int MIN_STAT_VALUE = 0;
+    /** Highest stat value in the roll and armor tables. */
+    public static final int MAX_STAT_VALUE = 100;
+    /** Highest armor penalty in the armor table. */
+    public static final int MAX_ARMOR_PENALTY = 10;
+
+    /** Marks a place in a cost table where the formula throws an exception. */
+    private static final int NO_COST = Integer.MIN_VALUE;
+
+    private static final ZithiaStat[] stats = ZithiaStat.values();
+    private static final int numPointsRaised = MAX_POINTS_RAISED - MIN_POINTS_RAISED + 1;
+    private static final int numStatValues = MAX_STAT_VALUE - MIN_STAT_VALUE + 1;
+    private static final int numArmorPenalties = MAX_ARMOR_PENALTY + 1;
+
+    /** Cost, indexed by [stat.ordinal() * numPointsRaised + pointsRaised - MIN_POINTS_RAISED]. */
+    private static final int[] statCosts = buildStatCosts();
+    /** Roll, indexed by [statValue - MIN_STAT_VALUE]. */
+    private static final int[] statRolls = buildStatRolls();
+    /** Adjusted penalty, indexed by [(str - MIN_STAT_VALUE) * numArmorPenalties + armorPenalty]. */
+    private static final int[] armorPenalties = buildArmorPenalties();
+
+
+    /** Constructor is private: this is never instantiated. */
+    private RulesTables() {
+    }
+
+    private static int[] buildStatCosts() {
+        int[] result = new int[stats.length * numPointsRaised];
+        for (ZithiaStat stat : stats) {
+            for (int pointsRaised = MIN_POINTS_RAISED; pointsRaised <= MAX_POINTS_RAISED; pointsRaised++) {
+                int cost;
+                try {
+                    cost = stat.getStatCostFormula().getCost(pointsRaised);
+                } catch (RuntimeException err) {
+                    cost = NO_COST;
+                }
+                result[stat.ordinal() * numPointsRaised + pointsRaised - MIN_POINTS_RAISED] = cost;
+            }
+        }
+        return result;
+    }
+
+    private static int[] buildStatRolls() {
+        int[] result = new int[numStatValues];
+        for (int statValue = MIN_STAT_VALUE; statValue <= MAX_STAT_VALUE; statValue++) {
+            result[statValue - MIN_STAT_VALUE] = computeStatRoll(statValue);
+        }
+        return result;
+    }
+
+    private static int[] buildArmorPenalties() {
+        int[] result = new int[numStatValues * numArmorPenalties];
+        for (int str = MIN_STAT_VALUE; str <= MAX_STAT_VALUE; str++) {
+            for (int armorPenalty = 0; armorPenalty <= MAX_ARMOR_PENALTY; armorPenalty++) {
+                result[(str - MIN_STAT_VALUE) * numArmorPenalties + armorPenalty] =
+                    computeStrAdjustedArmorPenalty(str, armorPenalty);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the cost to raise a stat by pointsRaised points; the same as
+     * ZithiaStat.getCost().
+     */
+    public static int getStatCost(ZithiaStat stat, int pointsRaised) {
+        if (pointsRaised >= MIN_POINTS_RAISED && pointsRaised <= MAX_POINTS_RAISED) {
+            int cost = statCosts[stat.ordinal() * numPointsRaised + pointsRaised - MIN_POINTS_RAISED];
+            if (cost != NO_COST) {
+                return cost;
+            }
+        }
+        return stat.getStatCostFormula().getCost(pointsRaised); // out of range or an error; let the formula sort it out
+    }
+
+    /** Returns the roll for a stat; the same as ZithiaStat.getRoll(). */
+    public static int getStatRoll(int statValue) {
+        if (statValue >= MIN_STAT_VALUE && statValue <= MAX_STAT_VALUE) {
+            return statRolls[statValue - MIN_STAT_VALUE];
+        } else {
+            return computeStatRoll(statValue);
+        }
+    }
+
+    /** Same as ArmorType.strAdjustedArmorPenalty(). */
+    public static int getStrAdjustedArmorPenalty(int str, int armorPenalty) {
+        if (str >= MIN_STAT_VALUE && str <= MAX_STAT_VALUE && armorPenalty >= 0 && armorPenalty <= MAX_ARMOR_PENALTY) {
+            return armorPenalties[(str - MIN_STAT_VALUE) * numArmorPenalties + armorPenalty];
+        } else {
+            return computeStrAdjustedArmorPenalty(str, armorPenalty);
+        }
+    }
+
+    /** The formula for the roll of a stat (this or less on 3D6). */
+    private static int computeStatRoll(int statValue) {
+        return 7 + (statValue / 3);
+    }
+
+    /** The formula for how strength mitigates armor penalty. */
+    private static int computeStrAdjustedArmorPenalty(int str, int armorPenalty) {
+        int adjustedPenalty;
+        if (str <= 4) {
+            adjustedPenalty = armorPenalty * 2;
+        } else if (str <= 10) {
+            adjustedPenalty = armorPenalty;
+        } else if (str <= 15) {
+            adjustedPenalty = armorPenalty - 1;
+        } else if (str <= 20) {
+            adjustedPenalty = armorPenalty - 2;
+        } else if (str <= 25) {
+            adjustedPenalty = armorPenalty -3;
+        } else {
+            adjustedPenalty = armorPenalty - 4;
+        }
+        return Math.max(0, adjustedPenalty);
+    }
+
+}
@@ -1,107 +1,224 @@
-/*
- * Copyright 2009 Michael Chermside
- *
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- *
- *   http://www.apache.org/licenses/LICENSE-2.0
- *
- *  Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- *
- */
-package com.mcherm.zithiacharsheet.client.model;
-
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-
-
-/**
- * The master list of well-known skills. It uses the singleton pattern.
- */
-public class SkillCatalog {
-    
-    private static final SkillCatalog singletonInstance = new SkillCatalog();
-    
-    public static SkillCatalog getSingleton() {
-        return singletonInstance;
-    }
-    
-    public static ZithiaSkill get(String id) {
-        ZithiaSkill result = getSingleton().getSkill(id);
-        if (result == null) {
-            throw new RuntimeException("Skill '" + id + "' not found in catalog.");
-        } else {
-            return result;
-        }
-    }
-    
-    private final Map<String,ZithiaSkill> skillMap;
-    private final List<SkillCategory> skillCategories;
-
-    
-    
-    /**
-     * Constructor. For now it initializes the data.
-     */
-    private SkillCatalog() {
-        Map<String,ZithiaSkill> skillMap = new HashMap<String,ZithiaSkill>();
-        
-        SkillCategory[] skillCategories = GameData.getSkillData();
-        for (SkillCategory skillCategory : skillCategories) {
-            for (ZithiaSkill skill : skillCategory.getSkills()) {
-                final String id = skill.getId();
-                if (skillMap.containsKey(id)) {
-                    throw new RuntimeException("Duplicate skill id '" + id + "'.");
-                } else {
-                    skillMap.put(id, skill);
-                }
-            }
-        }
-        this.skillMap = Collections.unmodifiableMap(skillMap);
-        this.skillCategories = Collections.unmodifiableList(Arrays.asList(skillCategories));
-    }
-    
-    /**
-     * Return a skill by its id (a short, unique, well-formed version of the
-     * skill name).
-     * 
-     * @param id the id of the skill to find
-     * @return the skill object or null if not found
-     */
-    public ZithiaSkill getSkill(String id) {
-        return skillMap.get(id);
-    }
-
-    
-    /**
-     * Skills are grouped into categories. The skill category simply has a name and a list
-     * of skills.
-     */
-    public static class SkillCategory {
-        private final String name;
-        private final List<ZithiaSkill> skills;
-        public SkillCategory(String name, ZithiaSkill... skills) {
-            this.name = name;
-            this.skills = Collections.unmodifiableList(Arrays.asList(skills));
-        }
-        public String getName() {
-            return name;
-        }
-        public List<ZithiaSkill> getSkills() {
-            return skills;
-        }
-    }
-    
-    public List<SkillCategory> getSkillCategories() {
-        return skillCategories;
-    }
-    
-}
+/*
+ * Copyright 2009 Michael Chermside
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.mcherm.zithiacharsheet.client.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.mcherm.zithiacharsheet.client.util.CatalogData;
+
+
+/**
+ * The master list of well-known skills. It uses the singleton pattern.
+ * <p>
+ * The skills in each category are only parsed when needed: either when
+ * someone asks for the skills of the category or when someone looks up
+ * a skill by id that is in that category.
+ */
+public class SkillCatalog {
+    
+    private static final SkillCatalog singletonInstance = new SkillCatalog();
+    
+    public static SkillCatalog getSingleton() {
+        return singletonInstance;
+    }
+    
+    public static ZithiaSkill get(String id) {
+        ZithiaSkill result = getSingleton().getSkill(id);
+        if (result == null) {
+            throw new RuntimeException("Skill '" + id + "' not found in catalog.");
+        } else {
+            return result;
+        }
+    }
+    
+    private final Map<String,ZithiaSkill> skillMap;
+    private final List<SkillCategory> skillCategories;
+    private final boolean[] categoryInSkillMap;
+    private SkillSearchIndex searchIndex = null; // built on first use
+
+    
+    
+    /**
+     * Constructor. For now it initializes the data.
+     */
+    private SkillCatalog() {
+        SkillCategory[] skillCategories = GameData.getSkillData();
+        this.skillMap = new HashMap<String,ZithiaSkill>();
+        this.skillCategories = Collections.unmodifiableList(Arrays.asList(skillCategories));
+        this.categoryInSkillMap = new boolean[skillCategories.length];
+        for (int i=0; i<skillCategories.length; i++) {
+            skillCategories[i].setCatalog(this, i);
+        }
+    }
+    
+    /**
+     * Return a skill by its id (a short, unique, well-formed version of the
+     * skill name).
+     * 
+     * @param id the id of the skill to find
+     * @return the skill object or null if not found
+     */
+    public ZithiaSkill getSkill(String id) {
+        ZithiaSkill result = skillMap.get(id);
+        if (result == null) {
+            for (int i=0; i<categoryInSkillMap.length; i++) {
+                if (!categoryInSkillMap[i] && skillCategories.get(i).mightContain(id)) {
+                    addToSkillMap(i);
+                    result = skillMap.get(id);
+                    if (result != null) {
+                        break;
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Puts the skills of a category into skillMap, checking for duplicate
+     * ids. Called by getSkill(), and by the category itself the first time
+     * its skills are asked for, so the ids are checked however the skills
+     * are reached. Does nothing if the category is already in the map.
+     */
+    private void addToSkillMap(int categoryIndex) {
+        if (categoryInSkillMap[categoryIndex]) {
+            return;
+        }
+        categoryInSkillMap[categoryIndex] = true;
+        for (ZithiaSkill skill : skillCategories.get(categoryIndex).getSkills()) {
+            final String id = skill.getId();
+            if (skillMap.containsKey(id)) {
+                throw new RuntimeException("Duplicate skill id '" + id + "'.");
+            } else {
+                skillMap.put(id, skill);
+            }
+        }
+    }
+
+    
+    /**
+     * Skills are grouped into categories. The skill category simply has a name and a list
+     * of skills. The skills may be given directly or as a block of data in the format
+     * described in GameData, which is parsed the first time the skills are needed.
+     */
+    public static class SkillCategory {
+        private static final SkillParser skillParser = new SkillParser();
+
+        private final String name;
+        private final String data;
+        private List<ZithiaSkill> skills;
+        /** The catalog to tell when the skills are first asked for; null once it has been told. */
+        private SkillCatalog catalog = null;
+        private int index;
+        public SkillCategory(String name, ZithiaSkill... skills) {
+            this.name = name;
+            this.data = null;
+            this.skills = Collections.unmodifiableList(Arrays.asList(skills));
+        }
+        public SkillCategory(String name, String data) {
+            this.name = name;
+            this.data = data;
+            this.skills = null;
+        }
+        public String getName() {
+            return name;
+        }
+        public List<ZithiaSkill> getSkills() {
+            if (skills == null) {
+                skills = skillParser.parse(CatalogData.getRecords(data));
+            }
+            if (catalog != null) {
+                SkillCatalog owner = catalog;
+                catalog = null;
+                owner.addToSkillMap(index); // checks the ids
+            }
+            return skills;
+        }
+        /** Called by the catalog the category belongs to. */
+        void setCatalog(SkillCatalog catalog, int index) {
+            this.catalog = catalog;
+            this.index = index;
+        }
+        /**
+         * Returns false if this category certainly does not contain a skill with
+         * this id. Does not parse the skills if they haven't been parsed yet.
+         */
+        boolean mightContain(String id) {
+            return skills != null || CatalogData.hasRecord(data, id);
+        }
+    }
+
+    /** Parses a block of skills in the format described in GameData. */
+    private static class SkillParser implements CatalogData.Parser<List<ZithiaSkill>> {
+        public List<ZithiaSkill> parse(List<String[]> records) {
+            List<ZithiaSkill> result = new ArrayList<ZithiaSkill>(records.size());
+            for (String[] record : records) {
+                String id = record[0];
+                ZithiaStat stat = record[1].length() == 0 ? null : lookupStat(record[1]);
+                int baseCost = Integer.parseInt(record[2]);
+                int firstLevelCost = Integer.parseInt(record[3]);
+                String name = record[4];
+                result.add(new ZithiaSkill(id, stat, baseCost, firstLevelCost, name));
+            }
+            return Collections.unmodifiableList(result);
+        }
+
+        private ZithiaStat lookupStat(String statName) {
+            for (ZithiaStat stat : ZithiaStat.values()) {
+                if (stat.name().equals(statName)) {
+                    return stat;
+                }
+            }
+            throw new RuntimeException("Invalid stat '" + statName + "' in skill data.");
+        }
+    }
+    
+    public List<SkillCategory> getSkillCategories() {
+        return skillCategories;
+    }
+
+    /**
+     * For testing purposes, a main() that parses all of the skill data
+     * (checking for duplicate ids) and prints the number of skills.
+     */
+    public static void main(String[] args) {
+        SkillCatalog catalog = SkillCatalog.getSingleton();
+        int count = 0;
+        for (int i=0; i<catalog.skillCategories.size(); i++) {
+            catalog.addToSkillMap(i);
+            count += catalog.skillCategories.get(i).getSkills().size();
+        }
+        System.out.println(count + " skills in " + catalog.skillCategories.size() + " categories.");
+    }
+
+    /**
+     * Returns an index for finding skills by (part of) their name, id,
+     * category or stat. It is built the first time it is asked for.
+     */
+    public SkillSearchIndex getSearchIndex() {
+        if (searchIndex == null) {
+            searchIndex = new SkillSearchIndex(this);
+        }
+        return searchIndex;
+    }
+    
+}
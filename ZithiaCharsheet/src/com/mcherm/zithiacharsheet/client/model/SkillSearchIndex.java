@@ -0,0 +1,414 @@
+/*
+ * Copyright 2009 Michael Chermside
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.mcherm.zithiacharsheet.client.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.mcherm.zithiacharsheet.client.model.SkillCatalog.SkillCategory;
+
+
+/**
+ * A search index over the skills in a SkillCatalog, used to find skills
+ * as the user types. A query is split into words; every word must match
+ * some skill for the skill to be returned, and the results are ranked by
+ * how well they matched.
+ * <p>
+ * A word matches a skill if it is a prefix of a word in the skill's name,
+ * id, category or stat (an exact word scores higher than a prefix, and the
+ * name counts more than the category). Failing that, a word of at least 3
+ * letters matches if at least half of its trigrams occur in the skill's
+ * name or id, which finds words in the middle of ids ("poetry" in
+ * "epicpoetry") and forgives small typos.
+ * <p>
+ * DESIGN NOTE: All the work is done when the index is built. A prefix is
+ * looked up by walking a trie, and each node of the trie already holds the
+ * list of skills (with scores) for that prefix. Scores are accumulated
+ * into arrays indexed by the skill's position in the catalog, so a query
+ * allocates almost nothing.
+ * <p>
+ * Instances are immutable after the constructor runs, except for the
+ * scratch arrays used while answering a query.
+ */
+public class SkillSearchIndex {
+
+    // Scores for a matching word, by where it was found.
+    private static final int NAME_EXACT = 8;
+    private static final int NAME_PREFIX = 6;
+    private static final int ID_EXACT = 6;
+    private static final int ID_PREFIX = 4;
+    private static final int STAT_EXACT = 4;
+    private static final int CATEGORY_EXACT = 3;
+    private static final int CATEGORY_PREFIX = 2;
+    /** A trigram match scores at most this much. */
+    private static final int TRIGRAM_MAX = 3;
+    /** Bonus when the name as a whole starts with the query. */
+    private static final int NAME_START_BONUS = 4;
+
+    private final ZithiaSkill[] skills;
+    private final String[] normalizedNames;
+    private final TrieNode root;
+    private final Map<String,int[]> trigramPostings;
+
+    // Scratch space for queries, indexed by skill position.
+    private final int[] totalScore;
+    private final int[] termScore;
+    private final int[] termsMatched;
+    private final int[] trigramHits;
+    private final int[] trigramSkills;
+    private final int[] candidates;
+    private final int[] termMatches;
+
+
+    /**
+     * A node in the prefix trie. The children are kept in a small array
+     * searched linearly, since the alphabet used in skill names is small.
+     */
+    private static class TrieNode {
+        private char[] keys = new char[0];
+        private TrieNode[] children = new TrieNode[0];
+        private final Postings prefix = new Postings();
+        private final Postings exact = new Postings();
+
+        TrieNode child(char c) {
+            for (int i=0; i<keys.length; i++) {
+                if (keys[i] == c) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        TrieNode addChild(char c) {
+            TrieNode result = child(c);
+            if (result == null) {
+                result = new TrieNode();
+                char[] newKeys = new char[keys.length + 1];
+                TrieNode[] newChildren = new TrieNode[keys.length + 1];
+                for (int i=0; i<keys.length; i++) {
+                    newKeys[i] = keys[i];
+                    newChildren[i] = children[i];
+                }
+                newKeys[keys.length] = c;
+                newChildren[keys.length] = result;
+                keys = newKeys;
+                children = newChildren;
+            }
+            return result;
+        }
+
+        void trim() {
+            prefix.trim();
+            exact.trim();
+            for (TrieNode child : children) {
+                child.trim();
+            }
+        }
+    }
+
+
+    /**
+     * A list of (skill, score) pairs kept in order by skill. Skills are
+     * indexed in order, so adding only ever touches the end of the list.
+     */
+    private static class Postings {
+        private int[] skills = new int[2];
+        private int[] scores = new int[2];
+        private int size = 0;
+
+        void add(int skill, int score) {
+            if (size > 0 && skills[size - 1] == skill) {
+                scores[size - 1] = Math.max(scores[size - 1], score);
+                return;
+            }
+            if (size == skills.length) {
+                skills = grow(skills, size * 2);
+                scores = grow(scores, size * 2);
+            }
+            skills[size] = skill;
+            scores[size] = score;
+            size++;
+        }
+
+        void trim() {
+            skills = grow(skills, size);
+            scores = grow(scores, size);
+        }
+    }
+
+    private static int[] grow(int[] array, int newLength) {
+        int[] result = new int[newLength];
+        for (int i=0; i<Math.min(array.length, newLength); i++) {
+            result[i] = array[i];
+        }
+        return result;
+    }
+
+
+    /**
+     * Constructor. Builds the index over every skill in the catalog, in
+     * catalog order.
+     */
+    public SkillSearchIndex(SkillCatalog skillCatalog) {
+        List<ZithiaSkill> skillList = new ArrayList<ZithiaSkill>();
+        List<String> categoryList = new ArrayList<String>();
+        for (SkillCategory skillCategory : skillCatalog.getSkillCategories()) {
+            for (ZithiaSkill skill : skillCategory.getSkills()) {
+                skillList.add(skill);
+                categoryList.add(skillCategory.getName());
+            }
+        }
+        final int count = skillList.size();
+        skills = skillList.toArray(new ZithiaSkill[count]);
+        normalizedNames = new String[count];
+        root = new TrieNode();
+        Map<String,Postings> trigrams = new HashMap<String,Postings>();
+        for (int i=0; i<count; i++) {
+            ZithiaSkill skill = skills[i];
+            normalizedNames[i] = normalize(skill.getName());
+            for (String word : splitWords(skill.getName())) {
+                addWord(i, word, NAME_EXACT, NAME_PREFIX);
+            }
+            addWord(i, normalize(skill.getId()), ID_EXACT, ID_PREFIX);
+            for (String word : splitWords(categoryList.get(i))) {
+                addWord(i, word, CATEGORY_EXACT, CATEGORY_PREFIX);
+            }
+            if (skill.getStat() != null) {
+                addWord(i, normalize(skill.getStat().getName()), STAT_EXACT, 0);
+            }
+            String text = normalize(skill.getName()).replace(" ", "") + " " + normalize(skill.getId());
+            for (int pos=0; pos + 3 <= text.length(); pos++) {
+                String trigram = text.substring(pos, pos + 3);
+                if (trigram.indexOf(' ') == -1) {
+                    Postings postings = trigrams.get(trigram);
+                    if (postings == null) {
+                        postings = new Postings();
+                        trigrams.put(trigram, postings);
+                    }
+                    postings.add(i, 1);
+                }
+            }
+        }
+        root.trim();
+        trigramPostings = new HashMap<String,int[]>(trigrams.size());
+        for (Map.Entry<String,Postings> entry : trigrams.entrySet()) {
+            Postings postings = entry.getValue();
+            trigramPostings.put(entry.getKey(), grow(postings.skills, postings.size));
+        }
+        totalScore = new int[count];
+        termScore = new int[count];
+        termsMatched = new int[count];
+        trigramHits = new int[count];
+        trigramSkills = new int[count];
+        candidates = new int[count];
+        termMatches = new int[count];
+    }
+
+    /** Subroutine of the constructor that puts one word into the trie. */
+    private void addWord(int skill, String word, int exactScore, int prefixScore) {
+        TrieNode node = root;
+        for (int i=0; i<word.length(); i++) {
+            node = node.addChild(word.charAt(i));
+            if (prefixScore > 0) {
+                node.prefix.add(skill, prefixScore);
+            }
+        }
+        node.exact.add(skill, exactScore);
+    }
+
+    /**
+     * Lower-cases the text and turns every run of characters that are not
+     * letters or digits into a single space.
+     */
+    static String normalize(String text) {
+        StringBuilder result = new StringBuilder(text.length());
+        boolean pendingSpace = false;
+        for (int i=0; i<text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && result.length() > 0) {
+                    result.append(' ');
+                }
+                pendingSpace = false;
+                result.append(Character.toLowerCase(c));
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return result.toString();
+    }
+
+    /** Splits text into normalized words. */
+    static List<String> splitWords(String text) {
+        String normalized = normalize(text);
+        List<String> result = new ArrayList<String>();
+        int start = 0;
+        while (start < normalized.length()) {
+            int end = normalized.indexOf(' ', start);
+            if (end == -1) {
+                end = normalized.length();
+            }
+            result.add(normalized.substring(start, end));
+            start = end + 1;
+        }
+        return result;
+    }
+
+
+    /** Returns the number of skills in the index. */
+    public int size() {
+        return skills.length;
+    }
+
+    /**
+     * Finds the skills matching a query, best match first. Skills with the
+     * same score are returned in catalog order. An empty query matches
+     * nothing.
+     *
+     * @param query the text typed by the user
+     * @param maxResults the most results to return
+     * @return the matching skills; never null
+     */
+    public List<ZithiaSkill> search(String query, int maxResults) {
+        List<String> terms = splitWords(query);
+        if (terms.isEmpty() || maxResults <= 0) {
+            return Collections.emptyList();
+        }
+
+        // -- Score each term; a skill must be matched by every term --
+        int candidateCount = 0;
+        for (int t=0; t<terms.size(); t++) {
+            int matched = scoreTerm(terms.get(t));
+            for (int m=0; m<matched; m++) {
+                int skill = termMatches[m];
+                if (t == 0) {
+                    candidates[candidateCount] = skill; // only these can match every term
+                    candidateCount++;
+                }
+                if (termsMatched[skill] == t) {
+                    termsMatched[skill] = t + 1;
+                    totalScore[skill] += termScore[skill];
+                }
+                termScore[skill] = 0;
+            }
+        }
+
+        // -- Collect the skills that matched everything --
+        final String wholeQuery = normalize(query);
+        List<Integer> hits = new ArrayList<Integer>();
+        for (int i=0; i<candidateCount; i++) {
+            int skill = candidates[i];
+            if (termsMatched[skill] == terms.size()) {
+                if (normalizedNames[skill].startsWith(wholeQuery)) {
+                    totalScore[skill] += NAME_START_BONUS;
+                }
+                hits.add(Integer.valueOf(skill));
+            }
+        }
+        Collections.sort(hits, new Comparator<Integer>() {
+            public int compare(Integer a, Integer b) {
+                int diff = totalScore[b.intValue()] - totalScore[a.intValue()];
+                return diff != 0 ? diff : a.intValue() - b.intValue();
+            }
+        });
+        List<ZithiaSkill> result = new ArrayList<ZithiaSkill>(Math.min(maxResults, hits.size()));
+        for (int i=0; i<hits.size() && i<maxResults; i++) {
+            result.add(skills[hits.get(i).intValue()]);
+        }
+        clearScratch(candidateCount);
+        return result;
+    }
+
+    /**
+     * Puts the best score for one term into termScore[] for every skill it
+     * matches, and lists those skills in termMatches[]. Returns the number
+     * of skills matched.
+     */
+    private int scoreTerm(String term) {
+        int matched = 0;
+        TrieNode node = root;
+        for (int i=0; i<term.length() && node != null; i++) {
+            node = node.child(term.charAt(i));
+        }
+        if (node != null) {
+            matched = addPostings(node.prefix, matched);
+            matched = addPostings(node.exact, matched);
+        }
+        if (term.length() >= 3) {
+            int trigramCount = term.length() - 2;
+            int hitSkillCount = 0;
+            for (int pos=0; pos<trigramCount; pos++) {
+                int[] postings = trigramPostings.get(term.substring(pos, pos + 3));
+                if (postings != null) {
+                    for (int skill : postings) {
+                        if (trigramHits[skill] == 0) {
+                            trigramSkills[hitSkillCount] = skill;
+                            hitSkillCount++;
+                        }
+                        trigramHits[skill]++;
+                    }
+                }
+            }
+            for (int h=0; h<hitSkillCount; h++) {
+                int skill = trigramSkills[h];
+                int hitCount = trigramHits[skill];
+                trigramHits[skill] = 0;
+                if (hitCount * 2 >= trigramCount) {
+                    int score = (TRIGRAM_MAX * hitCount) / trigramCount;
+                    if (score > 0 && termScore[skill] < score) {
+                        if (termScore[skill] == 0) {
+                            termMatches[matched] = skill;
+                            matched++;
+                        }
+                        termScore[skill] = score;
+                    }
+                }
+            }
+        }
+        return matched;
+    }
+
+    /** Subroutine of scoreTerm() to take the best score from a postings list. */
+    private int addPostings(Postings postings, int matched) {
+        for (int p=0; p<postings.size; p++) {
+            int skill = postings.skills[p];
+            int score = postings.scores[p];
+            if (termScore[skill] == 0) {
+                termMatches[matched] = skill;
+                matched++;
+            }
+            if (termScore[skill] < score) {
+                termScore[skill] = score;
+            }
+        }
+        return matched;
+    }
+
+    /** Resets the scratch arrays after a query. */
+    private void clearScratch(int candidateCount) {
+        for (int i=0; i<candidateCount; i++) {
+            int skill = candidates[i];
+            totalScore[skill] = 0;
+            termsMatched[skill] = 0;
+        }
+    }
+
+}
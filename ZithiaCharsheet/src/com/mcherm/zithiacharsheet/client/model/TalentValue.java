@@ -1,51 +1,51 @@
-/*
- * Copyright 2009 Michael Chermside
- *
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- *
- *   http://www.apache.org/licenses/LICENSE-2.0
- *
- *  Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- *
- */
-package com.mcherm.zithiacharsheet.client.model;
-
-import com.mcherm.zithiacharsheet.client.modeler.SettableIntValue;
-import com.mcherm.zithiacharsheet.client.modeler.SettableIntValueImpl;
-import com.mcherm.zithiacharsheet.client.modeler.SettableStringValue;
-import com.mcherm.zithiacharsheet.client.modeler.SettableStringValueImpl;
-
-
-/**
- * Any property of a character, it's got a description and a cost.
- */
-public class TalentValue {
-    private final SettableIntValue cost;
-    private final SettableStringValue description;
-    
-    public TalentValue() {
-        cost = new SettableIntValueImpl(0);
-        description = new SettableStringValueImpl("");
-    }
-    
-    /**
-     * Accessor.
-     */
-    public SettableIntValue getCost() {
-        return cost;
-    }
-
-    /**
-     * Accessor.
-     */
-    public SettableStringValue getDescription() {
-        return description;
-    }
-
-}
+/*
+ * Copyright 2009 Michael Chermside
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.mcherm.zithiacharsheet.client.model;
+
+import com.mcherm.zithiacharsheet.client.modeler.SettableIntValue;
+import com.mcherm.zithiacharsheet.client.modeler.SettableIntValueImpl;
+import com.mcherm.zithiacharsheet.client.modeler.SettableStringValue;
+import com.mcherm.zithiacharsheet.client.modeler.SettableStringValueImpl;
+
+
+/**
+ * Any property of a character, it's got a description and a cost.
+ */
+public class TalentValue {
+    private final SettableIntValue cost;
+    private final SettableStringValue description;
+    
+    public TalentValue() {
+        cost = new SettableIntValueImpl(0);
+        description = new SettableStringValueImpl("");
+    }
+    
+    /**
+     * Accessor.
+     */
+    public SettableIntValue getCost() {
+        return cost;
+    }
+
+    /**
+     * Accessor.
+     */
+    public SettableStringValue getDescription() {
+        return description;
+    }
+
+}
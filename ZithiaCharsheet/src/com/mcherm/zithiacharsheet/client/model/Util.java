@@ -1,55 +1,81 @@
-/*
- * Copyright 2009 Michael Chermside
- *
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- *
- *   http://www.apache.org/licenses/LICENSE-2.0
- *
- *  Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- *
- */
-package com.mcherm.zithiacharsheet.client.model;
-
-/**
- * Some utility functions used by the model.
- */
-public final class Util {
-    
-    /** Static functions only; do not create instances. */
-    private Util() {}
-    
-    
-    /**
-     * Contains the formula for my standard behavior: costs a
-     * base amount, and a premium per level, and that premium
-     * rises every 2 levels.
-     * 
-     * @param baseCost
-     * @param firstLevelCost
-     * @param levels
-     * @return the cost of levels levels of a skill which has a
-     *   base cost of baseCost and a first level cost of firstLevelCost.
-     */
-    public final static int skillCost(int baseCost, int firstLevelCost, int levels) {
-        if (levels < 0) {
-            throw new RuntimeException("Cannot have negative skill levels.");
-        } else if (levels == 0) {
-            return baseCost;
-        } else {
-            // FIXME: This math formula can be simplified enormously. Do that sometime.
-            int overTwo = (levels - 1) / 2;
-            int major = overTwo * (overTwo + 1);
-            int extra = ((levels + 1) / 2) - 1;
-            int pct2 = levels % 2;
-            int stuff = major - extra * pct2;
-            return baseCost + levels * firstLevelCost + stuff;
-        }
-    }
-
-}
+/*
+ * Copyright 2009 Michael Chermside
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.mcherm.zithiacharsheet.client.model;
+
+/**
+ * Some utility functions used by the model.
+ */
+public final class Util {
+    
+    /** Static functions only; do not create instances. */
+    private Util() {}
+    
+    
+    /**
+     * Contains the formula for my standard behavior: costs a
+     * base amount, and a premium per level, and that premium
+     * rises every 2 levels.
+     * <p>
+     * Level n (counting from 1) costs firstLevelCost + (n-1)/2, so
+     * the premiums add up to (levels/2) * ((levels-1)/2).
+     * 
+     * @param baseCost
+     * @param firstLevelCost
+     * @param levels
+     * @return the cost of levels levels of a skill which has a
+     *   base cost of baseCost and a first level cost of firstLevelCost.
+     */
+    public final static int skillCost(int baseCost, int firstLevelCost, int levels) {
+        if (levels < 0) {
+            throw new RuntimeException("Cannot have negative skill levels.");
+        }
+        return baseCost + levels * firstLevelCost + (levels / 2) * ((levels - 1) / 2);
+    }
+
+    /**
+     * Fills in costs with the cost of successive numbers of levels of one
+     * skill: costs[i] is skillCost(baseCost, firstLevelCost, fromLevel + i).
+     */
+    public final static void skillCosts(int baseCost, int firstLevelCost, int fromLevel, int[] costs) {
+        if (fromLevel < 0) {
+            throw new RuntimeException("Cannot have negative skill levels.");
+        }
+        for (int i=0; i<costs.length; i++) {
+            int levels = fromLevel + i;
+            costs[i] = baseCost + levels * firstLevelCost + (levels / 2) * ((levels - 1) / 2);
+        }
+    }
+
+    /**
+     * Computes many costs at once: costs[i] is set to
+     * skillCost(baseCosts[i], firstLevelCosts[i], levels[i]). All four
+     * arrays must be the same length.
+     */
+    public final static void skillCosts(int[] baseCosts, int[] firstLevelCosts, int[] levels, int[] costs) {
+        if (firstLevelCosts.length != baseCosts.length || levels.length != baseCosts.length || costs.length != baseCosts.length) {
+            throw new IllegalArgumentException("Arrays must all be the same length.");
+        }
+        for (int i=0; i<costs.length; i++) {
+            int l = levels[i];
+            if (l < 0) {
+                throw new RuntimeException("Cannot have negative skill levels.");
+            }
+            costs[i] = baseCosts[i] + l * firstLevelCosts[i] + (l / 2) * ((l - 1) / 2);
+        }
+    }
+
+}
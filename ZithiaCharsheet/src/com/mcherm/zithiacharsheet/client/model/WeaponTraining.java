@@ -1,339 +1,686 @@
-/*
- * Copyright 2009 Michael Chermside
- *
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- *
- *   http://www.apache.org/licenses/LICENSE-2.0
- *
- *  Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- *
- */
-package com.mcherm.zithiacharsheet.client.model;
-
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
-
-import com.mcherm.zithiacharsheet.client.model.weapon.WeaponSkill;
-import com.mcherm.zithiacharsheet.client.model.weapon.WeaponsCatalog;
-import com.mcherm.zithiacharsheet.client.modeler.CalculatedIntValue;
-import com.mcherm.zithiacharsheet.client.modeler.Observable;
-import com.mcherm.zithiacharsheet.client.modeler.SummableList.Extractor;
-import com.mcherm.zithiacharsheet.client.modeler.CalculatedBooleanValue;
-import com.mcherm.zithiacharsheet.client.modeler.EquationIntValue;
-import com.mcherm.zithiacharsheet.client.modeler.ObservableBoolean;
-import com.mcherm.zithiacharsheet.client.modeler.ObservableList;
-import com.mcherm.zithiacharsheet.client.modeler.SettableBooleanValue;
-import com.mcherm.zithiacharsheet.client.modeler.SettableBooleanValueImpl;
-import com.mcherm.zithiacharsheet.client.modeler.ObservableInt;
-import com.mcherm.zithiacharsheet.client.modeler.SettableIntValue;
-import com.mcherm.zithiacharsheet.client.modeler.SettableIntValueImpl;
-import com.mcherm.zithiacharsheet.client.modeler.SummableList;
-import com.mcherm.zithiacharsheet.client.modeler.TweakableIntValue;
-import com.mcherm.zithiacharsheet.client.modeler.CalculatedBooleanValue.BooleanValueCalculator;
-import com.mcherm.zithiacharsheet.client.modeler.CalculatedIntValue.ValueCalculator;
-import com.mcherm.zithiacharsheet.client.modeler.EquationIntValue.Equation1;
-import com.mcherm.zithiacharsheet.client.modeler.EquationIntValue.Equation2;
-
-
-/**
- * This is an a weapon skill that a character actually possesses.
- * They may have basic training in it, levels in it, or even neither.
- * The WeaponTraining instances for a character form a tree, where
- * each level points to the contained elements of the span lower
- * than it and the character itself contains the span-4 WeaponTraining.
- */
-public class WeaponTraining {
-    private final WeaponTraining parent;
-    private final WeaponSkill weaponSkill;
-    private final SettableBooleanValue basicTrainingDesired;
-    private final CalculatedBooleanValue basicTrainingPaidHere;
-    private final SettableIntValue levelsPurchased;
-    private final EquationIntValue levels;
-    private final ObservableBoolean trained;
-    private final CalculatedIntValue<Observable> thisCost;
-    private final SummableList<WeaponTraining> children;
-    private final EquationIntValue totalCost;
-
-    private WeaponTraining(final WeaponTraining parent, final WeaponSkill weaponSkill) {
-        this.parent = parent;
-        this.weaponSkill = weaponSkill;
-        final SettableBooleanValue basicTrainingDesired = new SettableBooleanValueImpl(false);
-        this.basicTrainingDesired = basicTrainingDesired;
-        levelsPurchased = new SettableIntValueImpl(0);
-        if (parent == null) {
-            levels = new EquationIntValue(levelsPurchased, new Equation1() {
-                public int getValue(int levelsPurchased) {
-                    return levelsPurchased;
-                }
-            });
-            trained = new CalculatedBooleanValue(
-                Arrays.asList(basicTrainingDesired),
-                new BooleanValueCalculator() {
-                    public boolean calculateValue() {
-                        return basicTrainingDesired.getValue();
-                    }
-                }
-            );
-            basicTrainingPaidHere = new CalculatedBooleanValue(
-                Arrays.asList(basicTrainingDesired),
-                new BooleanValueCalculator() {
-                    public boolean calculateValue() {
-                        return basicTrainingDesired.getValue();
-                    }
-                }
-            );
-        } else {
-            levels = new EquationIntValue(levelsPurchased, parent.getLevels(), new Equation2() {
-                public int getValue(int levelsPurchased, int parentLevels) {
-                    return levelsPurchased + parentLevels;
-                }
-            });
-            trained = new CalculatedBooleanValue(
-                Arrays.asList(basicTrainingDesired, parent.isTrained()),
-                new BooleanValueCalculator() {
-                    public boolean calculateValue() {
-                        return basicTrainingDesired.getValue() || parent.isTrained().getValue();
-                    }
-                }
-            );
-            final ObservableBoolean parentTrained = parent.isTrained();
-            basicTrainingPaidHere = new CalculatedBooleanValue(
-                Arrays.asList(basicTrainingDesired, parentTrained),
-                new BooleanValueCalculator() {
-                    public boolean calculateValue() {
-                        return basicTrainingDesired.getValue() && !parentTrained.getValue();
-                    }
-                }
-            );
-        }
-        thisCost = new CalculatedIntValue<Observable>(
-            Arrays.asList(basicTrainingPaidHere, levelsPurchased),
-            new ValueCalculator<Observable>() {
-                public int calculateValue(Iterable<? extends Observable> inputs) {
-                    int basicTrainingCost = basicTrainingPaidHere.getValue() ? weaponSkill.getBasicTrainingCost() : 0;
-                    int firstLevelCost = weaponSkill.getFirstLevelCost();
-                    int levels = levelsPurchased.getValue();
-                    return Util.skillCost(basicTrainingCost, firstLevelCost, levels);
-                }
-            }
-        );
-        children = new SummableList<WeaponTraining>(new Extractor<WeaponTraining>() {
-            public ObservableInt extractValue(WeaponTraining item) {
-                return item.getTotalCost();
-            }
-        });
-        totalCost = new EquationIntValue(thisCost, children.getSum(), new Equation2() {
-            public int getValue(int thisCost, int childrenCost) {
-                return thisCost + childrenCost;
-            }
-        });
-    }
-    
-    public WeaponTraining getParent() {
-        return parent;
-    }
-    
-    public boolean hasChildren() {
-        return !children.isEmpty();
-    }
-    
-    public ObservableList<WeaponTraining> getChildren() {
-        return children;
-    }
-    
-    public WeaponSkill getWeaponSkill() {
-        return weaponSkill;
-    }
-    
-    /**
-     * A value which is true if the character has specified that
-     * they wish to learn basic training for this WeaponSkill.
-     * If this is true but the character has ALSO taken basic
-     * training in a parent WeaponSkill, then it will be no-cost
-     * here -- see also getBasicTrainingPaidHere().
-     */
-    public SettableBooleanValue getBasicTrainingDesired() {
-        return basicTrainingDesired;
-    }
-
-    /**
-     * A value which is true if the character has paid for basic
-     * training at this level and false if the character is NOT
-     * trained in this weapon or IS trained at some parent WeaponSkill.
-     */
-    public ObservableBoolean getBasicTrainingPaidHere() {
-        return basicTrainingPaidHere;
-    }
-    
-    /**
-     * Returns true if the character is trained in the use of
-     * this WeaponSkill or some more broad category that includes
-     * it.
-     */
-    public ObservableBoolean isTrained() {
-        return trained;
-    }
-    
-    /**
-     * Returns the number of levels of this weapon skill that the
-     * character has paid for.
-     */
-    public SettableIntValue getLevelsPurchased() {
-        return levelsPurchased;
-    }
-    
-    /**
-     * Returns the number of levels that the character can use with
-     * this weapon or weapons in this weapon group.
-     */
-    public TweakableIntValue getLevels() {
-        return levels;
-    }
-    
-    /**
-     * Returns the cost for just this particular WeaponTraining, not
-     * including any parent or child WeaponTrainings.
-     */
-    public TweakableIntValue getThisCost() {
-        return thisCost;
-    }
-    
-    /**
-     * Returns the cumulative cost for this particular WeaponTraining and all
-     * child WeaponTrainings.
-     */
-    public TweakableIntValue getTotalCost() {
-        return totalCost;
-    }
-    
-    /**
-     * This creates a new WeaponTraining which is a child of this one.
-     * 
-     * @param weaponSkill the WeaponSkill of this child. Must have a
-     *   span which is one less than the span of this WeaponTraining's skill.
-     * @return the newly created WeaponTraining.
-     */
-    public WeaponTraining createChild(WeaponSkill weaponSkill) {
-        WeaponTraining result = new WeaponTraining(this, weaponSkill);
-        children.add(result);
-        return result;
-    }
-
-    /**
-     * This is passed a WeaponTraining which is expected to be a child of
-     * this one. If it is, then that child is removed. If it is not, then
-     * the behavior is unspecified (currently, it does nothing).
-     *
-     * @param child a WeaponTraining which is a child of this one.
-     */
-    public void removeChild(WeaponTraining child) {
-        children.remove(child);
-    }
-
-    /**
-     * This tests whether this WeaponTraining is currently storing no useful
-     * data, and can be pruned from the tree without affecting the character
-     * sheet. Any training, levels, tweaks, or any child which cannot be
-     * pruned will prevent pruning. Also, the top level WeaponTraining (the
-     * AllCombat level) cannot be pruned.
-     *
-     * @return true if it can be pruned, false if not.
-     */
-    public boolean canPrune() {
-        for (WeaponTraining child : children) {
-            if (!child.canPrune()) {
-                return false;
-            }
-        }
-        return !cannotPruneDueToFeatures();
-    }
-
-    /**
-     * Internal subroutine to share between prune() and canPrune(). It tests
-     * whether we can prune this WeaponTraining considering only the WeaponTraining
-     * itself, not considering it's children.
-     */
-    private boolean cannotPruneDueToFeatures() {
-        if(getBasicTrainingPaidHere().getValue()) {
-            return true;
-        }
-        if (getLevelsPurchased().getValue() != 0) {
-            return true;
-        }
-        if (getLevels().isTweaked() ||  getThisCost().isTweaked() || getTotalCost().isTweaked()) {
-            return true;
-        }
-        if (parent == null) {
-            return true;
-        }
-        return false;
-    }
-
-    /**
-     * This walks this WeaponTraining and all child WeaponTrainings, keeping
-     * every item that has basicTrainingDesired, levelsPurchased, any tweaked
-     * values, or has child we keep, and removing all other items. This node itself
-     * will still exist, even if empty, but the method returns true if this
-     * WeaponTraining can itself be pruned and false if it cannot.
-     */
-    public boolean prune() {
-        boolean hasChild;
-        if (children.isEmpty()) {
-            hasChild = false;
-        } else {
-            List<WeaponTraining> childrenToRemove = new ArrayList<WeaponTraining>();
-            for (WeaponTraining child : children) {
-                if (child.prune()) {
-                    childrenToRemove.add(child);
-                }
-            }
-            for (WeaponTraining child : childrenToRemove) {
-                removeChild(child);
-            }
-            hasChild = !children.isEmpty();
-        }
-        return !(hasChild || cannotPruneDueToFeatures());
-    }
-    
-    /**
-     * This removes all children, all tweaks, and sets the levelsPurchased to 0 and
-     * basicTrainingDesired to false. Essentially, it wipes clean this and all children.
-     */
-    public void clean() {
-        for (WeaponTraining child : children) {
-            child.clobber();
-        }
-        children.clear();
-        getLevels().setAdjustments(null, null);
-        getThisCost().setAdjustments(null, null);
-        getTotalCost().setAdjustments(null, null);
-        getBasicTrainingDesired().setValue(false);
-        getLevelsPurchased().setValue(0);
-    }
-    
-    /**
-     * A subroutine of clean() so that we don't have to carefully reset values
-     * on items which will be deleted in a moment.
-     */
-    private void clobber() {
-        for (WeaponTraining child : children) {
-            child.clobber();
-        }
-        children.clear();
-    }
-    
-    /**
-     * This creates the top-level WeaponTraining for a character.
-     */
-    public static WeaponTraining createAllCombatTraining() {
-        return new WeaponTraining(null, WeaponsCatalog.getSingleton().getAllCombatSkill());
-    }
-
-}
+/*
+ * Copyright 2009 Michael Chermside
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.mcherm.zithiacharsheet.client.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.mcherm.zithiacharsheet.client.model.weapon.WeaponSkill;
+import com.mcherm.zithiacharsheet.client.model.weapon.WeaponsCatalog;
+import com.mcherm.zithiacharsheet.client.modeler.CalculatedIntValue;
+import com.mcherm.zithiacharsheet.client.modeler.Observable;
+import com.mcherm.zithiacharsheet.client.modeler.SummableList.Extractor;
+import com.mcherm.zithiacharsheet.client.modeler.CalculatedBooleanValue;
+import com.mcherm.zithiacharsheet.client.modeler.EquationIntValue;
+import com.mcherm.zithiacharsheet.client.modeler.ObservableBoolean;
+import com.mcherm.zithiacharsheet.client.modeler.ObservableList;
+import com.mcherm.zithiacharsheet.client.modeler.SettableBooleanValue;
+import com.mcherm.zithiacharsheet.client.modeler.SettableBooleanValueImpl;
+import com.mcherm.zithiacharsheet.client.modeler.ObservableInt;
+import com.mcherm.zithiacharsheet.client.modeler.SettableIntValue;
+import com.mcherm.zithiacharsheet.client.modeler.SettableIntValueImpl;
+import com.mcherm.zithiacharsheet.client.modeler.SummableList;
+import com.mcherm.zithiacharsheet.client.modeler.TweakableIntValue;
+import com.mcherm.zithiacharsheet.client.modeler.CalculatedBooleanValue.BooleanValueCalculator;
+import com.mcherm.zithiacharsheet.client.modeler.CalculatedIntValue.ValueCalculator;
+import com.mcherm.zithiacharsheet.client.modeler.EquationIntValue.Equation1;
+import com.mcherm.zithiacharsheet.client.modeler.EquationIntValue.Equation2;
+
+
+/**
+ * This is an a weapon skill that a character actually possesses.
+ * They may have basic training in it, levels in it, or even neither.
+ * The WeaponTraining instances for a character form a tree, where
+ * each level points to the contained elements of the span lower
+ * than it and the character itself contains the span-4 WeaponTraining.
+ * <p>
+ * DESIGN NOTE: Most WeaponTrainings are untouched: nothing is purchased
+ * and nothing is tweaked, so every value is either a constant or the same
+ * as the parent's. An untouched WeaponTraining does not build its values.
+ * Instead, the getters hand out small stand-ins that read the constant or
+ * the parent's value. The first time one of them is actually changed (a
+ * value set to something different, or a tweak applied) the real values
+ * are built (along with those of any untouched ancestors) and the
+ * stand-ins pass their observers over to them and from then on just
+ * forward to them. A WeaponTraining never goes back to being untouched.
+ * <p>
+ * Once a stand-in has been handed out the getter keeps returning it, even
+ * after the real values exist, so that callers always get the same object
+ * (SummableList, for one, finds the item's value again when removing it).
+ * <p>
+ * Nothing is built before it is needed. A stand-in is only created when
+ * its getter is called, and holds no observer list until it is observed.
+ * The stand-ins live in one holder that only exists once the first is
+ * asked for, and the list of children only exists once there is a child
+ * (or someone asks for the list). A stand-in can't be shared between
+ * WeaponTrainings, since the observers it has been given must be handed
+ * over to the values of its own WeaponTraining.
+ */
+public class WeaponTraining {
+    private final WeaponTraining parent;
+    private final WeaponSkill weaponSkill;
+    /** The children, or null until the list is first needed. */
+    private SummableList<WeaponTraining> children;
+    /** The real values, or null while this is untouched. */
+    private Values values;
+    /** The stand-ins handed out so far, or null if none has been. */
+    private StandIns standIns;
+
+    private static final Extractor<WeaponTraining> totalCostExtractor = new Extractor<WeaponTraining>() {
+        public ObservableInt extractValue(WeaponTraining item) {
+            return item.getTotalCost();
+        }
+    };
+
+    private WeaponTraining(final WeaponTraining parent, final WeaponSkill weaponSkill) {
+        this.parent = parent;
+        this.weaponSkill = weaponSkill;
+        if (parent == null) {
+            materialize(); // the top level is never pruned, so don't bother with stand-ins
+        }
+    }
+
+
+    /**
+     * The values of a WeaponTraining that has been touched.
+     */
+    private class Values {
+        private final SettableBooleanValue basicTrainingDesired;
+        private final CalculatedBooleanValue basicTrainingPaidHere;
+        private final SettableIntValue levelsPurchased;
+        private final EquationIntValue levels;
+        private final ObservableBoolean trained;
+        private final CalculatedIntValue<Observable> thisCost;
+        private final EquationIntValue totalCost;
+
+        private Values() {
+            final SettableBooleanValue basicTrainingDesired = new SettableBooleanValueImpl(false);
+            this.basicTrainingDesired = basicTrainingDesired;
+            levelsPurchased = new SettableIntValueImpl(0);
+            if (parent == null) {
+                levels = EquationIntValue.newInstance(levelsPurchased, new Equation1() {
+                    public int getValue(int levelsPurchased) {
+                        return levelsPurchased;
+                    }
+                });
+                trained = new CalculatedBooleanValue(
+                    Arrays.asList(basicTrainingDesired),
+                    new BooleanValueCalculator() {
+                        public boolean calculateValue() {
+                            return basicTrainingDesired.getValue();
+                        }
+                    }
+                );
+                basicTrainingPaidHere = new CalculatedBooleanValue(
+                    Arrays.asList(basicTrainingDesired),
+                    new BooleanValueCalculator() {
+                        public boolean calculateValue() {
+                            return basicTrainingDesired.getValue();
+                        }
+                    }
+                );
+            } else {
+                levels = EquationIntValue.newInstance(levelsPurchased, parent.getLevels(), new Equation2() {
+                    public int getValue(int levelsPurchased, int parentLevels) {
+                        return levelsPurchased + parentLevels;
+                    }
+                });
+                trained = new CalculatedBooleanValue(
+                    Arrays.asList(basicTrainingDesired, parent.isTrained()),
+                    new BooleanValueCalculator() {
+                        public boolean calculateValue() {
+                            return basicTrainingDesired.getValue() || parent.isTrained().getValue();
+                        }
+                    }
+                );
+                final ObservableBoolean parentTrained = parent.isTrained();
+                basicTrainingPaidHere = new CalculatedBooleanValue(
+                    Arrays.asList(basicTrainingDesired, parentTrained),
+                    new BooleanValueCalculator() {
+                        public boolean calculateValue() {
+                            return basicTrainingDesired.getValue() && !parentTrained.getValue();
+                        }
+                    }
+                );
+            }
+            final CalculatedBooleanValue basicTrainingPaidHere = this.basicTrainingPaidHere;
+            final SettableIntValue levelsPurchased = this.levelsPurchased;
+            thisCost = new CalculatedIntValue<Observable>(
+                Arrays.asList(basicTrainingPaidHere, levelsPurchased),
+                new ValueCalculator<Observable>() {
+                    public int calculateValue(Iterable<? extends Observable> inputs) {
+                        return calculateThisCost(weaponSkill, basicTrainingPaidHere.getValue(), levelsPurchased.getValue());
+                    }
+                }
+            );
+            totalCost = EquationIntValue.newInstance(thisCost, childList().getSum(), new Equation2() {
+                public int getValue(int thisCost, int childrenCost) {
+                    return thisCost + childrenCost;
+                }
+            });
+        }
+    }
+
+    /**
+     * Builds the real values if this is still untouched (first making sure
+     * the parent has its real values) and hands the observers of any
+     * stand-ins over to them.
+     */
+    private Values materialize() {
+        if (values == null) {
+            if (parent != null) {
+                parent.materialize();
+            }
+            values = new Values();
+            if (standIns != null) {
+                standIns.handOver();
+            }
+        }
+        return values;
+    }
+
+    /** Returns the list of children, creating it if it doesn't exist yet. */
+    private SummableList<WeaponTraining> childList() {
+        if (children == null) {
+            children = new SummableList<WeaponTraining>(totalCostExtractor);
+        }
+        return children;
+    }
+
+    /** Returns the holder for the stand-ins, creating it if it doesn't exist yet. */
+    private StandIns standIns() {
+        if (standIns == null) {
+            standIns = new StandIns();
+        }
+        return standIns;
+    }
+
+    /**
+     * Returns false if this is untouched and is being represented by
+     * stand-ins; true once it has its own values.
+     */
+    public boolean isMaterialized() {
+        return values != null;
+    }
+
+
+    /** The stand-ins of one WeaponTraining; each is null until first asked for. */
+    private static class StandIns {
+        private StandInSettableBoolean basicTrainingDesired;
+        private StandInBoolean basicTrainingPaidHere;
+        private StandInSettableInt levelsPurchased;
+        private StandInTweakableInt levels;
+        private StandInBoolean trained;
+        private StandInTweakableInt thisCost;
+        private StandInTweakableInt totalCost;
+
+        /** Called once, when the real values have just been built. */
+        private void handOver() {
+            StandIn[] all = {basicTrainingDesired, basicTrainingPaidHere, levelsPurchased, levels, trained, thisCost, totalCost};
+            for (StandIn standIn : all) {
+                if (standIn != null) {
+                    standIn.handOver();
+                }
+            }
+        }
+    }
+
+    /**
+     * Common parent of the stand-ins. While this WeaponTraining is untouched
+     * a stand-in keeps track of its observers (and if its value comes from the
+     * parent, registers them there too); afterward it just forwards to the
+     * real value.
+     */
+    private abstract class StandIn implements Observable {
+        /** Null until there is an observer; observers are seldom added or removed. */
+        private Observer[] observers = null;
+
+        /** The parent's value that this one equals while untouched, or null if it is a constant. */
+        protected abstract Observable source();
+
+        /** The real value; only call once materialized. */
+        protected abstract Observable real();
+
+        public void addObserver(Observer observer) {
+            if (values != null) {
+                real().addObserver(observer);
+            } else {
+                if (observers == null) {
+                    observers = new Observer[] {observer};
+                } else {
+                    Observer[] newObservers = new Observer[observers.length + 1];
+                    System.arraycopy(observers, 0, newObservers, 0, observers.length);
+                    newObservers[observers.length] = observer;
+                    observers = newObservers;
+                }
+                Observable source = source();
+                if (source != null) {
+                    source.addObserver(observer);
+                }
+            }
+        }
+
+        public void removeObserver(Observer observer) {
+            if (values != null) {
+                real().removeObserver(observer);
+            } else if (observers != null) {
+                for (int i=0; i<observers.length; i++) {
+                    if (observers[i].equals(observer)) {
+                        if (observers.length == 1) {
+                            observers = null;
+                        } else {
+                            Observer[] newObservers = new Observer[observers.length - 1];
+                            System.arraycopy(observers, 0, newObservers, 0, i);
+                            System.arraycopy(observers, i + 1, newObservers, i, newObservers.length - i);
+                            observers = newObservers;
+                        }
+                        Observable source = source();
+                        if (source != null) {
+                            source.removeObserver(observer);
+                        }
+                        return;
+                    }
+                }
+            }
+        }
+
+        /** Called once, when the real values have just been built. */
+        void handOver() {
+            if (observers == null) {
+                return;
+            }
+            Observable source = source();
+            Observable real = real();
+            for (Observer observer : observers) {
+                if (source != null) {
+                    source.removeObserver(observer);
+                }
+                real.addObserver(observer);
+            }
+            observers = null;
+        }
+    }
+
+    /** Stands in for basicTrainingPaidHere (always false) or trained (same as the parent). */
+    private class StandInBoolean extends StandIn implements ObservableBoolean {
+        private final boolean isTrained;
+
+        StandInBoolean(boolean isTrained) {
+            this.isTrained = isTrained;
+        }
+        protected Observable source() {
+            return isTrained ? parent.isTrained() : null;
+        }
+        protected ObservableBoolean real() {
+            return isTrained ? values.trained : values.basicTrainingPaidHere;
+        }
+        public boolean getValue() {
+            if (values != null) {
+                return real().getValue();
+            }
+            return isTrained ? parent.isTrained().getValue() : false;
+        }
+    }
+
+    /** Stands in for basicTrainingDesired (false until set). */
+    private class StandInSettableBoolean extends StandIn implements SettableBooleanValue {
+        protected Observable source() {
+            return null;
+        }
+        protected SettableBooleanValue real() {
+            return values.basicTrainingDesired;
+        }
+        public boolean getValue() {
+            return values == null ? false : real().getValue();
+        }
+        public void setValue(boolean value) {
+            if (values != null || value) {
+                materialize().basicTrainingDesired.setValue(value);
+            }
+        }
+    }
+
+    /** Stands in for levelsPurchased (0 until set). */
+    private class StandInSettableInt extends StandIn implements SettableIntValue {
+        protected Observable source() {
+            return null;
+        }
+        protected SettableIntValue real() {
+            return values.levelsPurchased;
+        }
+        public int getValue() {
+            return values == null ? 0 : real().getValue();
+        }
+        public void setValue(int value) {
+            if (values != null || value != 0) {
+                materialize().levelsPurchased.setValue(value);
+            }
+        }
+    }
+
+    /**
+     * Stands in for levels (same as the parent), thisCost (0) or totalCost (0,
+     * since the children of something untouched are also untouched).
+     */
+    private class StandInTweakableInt extends StandIn implements TweakableIntValue {
+        private final boolean isLevels;
+        private final boolean isTotal;
+
+        StandInTweakableInt(boolean isLevels, boolean isTotal) {
+            this.isLevels = isLevels;
+            this.isTotal = isTotal;
+        }
+        protected Observable source() {
+            return isLevels ? parent.getLevels() : null;
+        }
+        protected TweakableIntValue real() {
+            return isLevels ? values.levels : isTotal ? values.totalCost : values.thisCost;
+        }
+        public int getValue() {
+            if (values != null) {
+                return real().getValue();
+            }
+            return isLevels ? parent.getLevels().getValue() : 0;
+        }
+        public boolean isTweaked() {
+            return values != null && real().isTweaked();
+        }
+        public Integer getOverride() {
+            return values == null ? null : real().getOverride();
+        }
+        public Integer getModifier() {
+            return values == null ? null : real().getModifier();
+        }
+        public void setAdjustments(Integer override, Integer modifier) {
+            if (values != null || override != null || modifier != null) {
+                materialize();
+                real().setAdjustments(override, modifier);
+            }
+        }
+    }
+
+    
+    /** The formula for the cost of the training at this particular level. */
+    static int calculateThisCost(WeaponSkill weaponSkill, boolean basicTrainingPaidHere, int levelsPurchased) {
+        int basicTrainingCost = basicTrainingPaidHere ? weaponSkill.getBasicTrainingCost() : 0;
+        int firstLevelCost = weaponSkill.getFirstLevelCost();
+        return Util.skillCost(basicTrainingCost, firstLevelCost, levelsPurchased);
+    }
+
+    public WeaponTraining getParent() {
+        return parent;
+    }
+    
+    public boolean hasChildren() {
+        return children != null && !children.isEmpty();
+    }
+    
+    /**
+     * Returns the list of children. For a WeaponTraining that has none, this
+     * creates the (empty) list, so to just read the children check
+     * hasChildren() first.
+     */
+    public ObservableList<WeaponTraining> getChildren() {
+        return childList();
+    }
+    
+    public WeaponSkill getWeaponSkill() {
+        return weaponSkill;
+    }
+    
+    /**
+     * A value which is true if the character has specified that
+     * they wish to learn basic training for this WeaponSkill.
+     * If this is true but the character has ALSO taken basic
+     * training in a parent WeaponSkill, then it will be no-cost
+     * here -- see also getBasicTrainingPaidHere().
+     */
+    public SettableBooleanValue getBasicTrainingDesired() {
+        if (standIns == null || standIns.basicTrainingDesired == null) {
+            if (values != null) {
+                return values.basicTrainingDesired;
+            }
+            standIns().basicTrainingDesired = new StandInSettableBoolean();
+        }
+        return standIns.basicTrainingDesired;
+    }
+
+    /**
+     * A value which is true if the character has paid for basic
+     * training at this level and false if the character is NOT
+     * trained in this weapon or IS trained at some parent WeaponSkill.
+     */
+    public ObservableBoolean getBasicTrainingPaidHere() {
+        if (standIns == null || standIns.basicTrainingPaidHere == null) {
+            if (values != null) {
+                return values.basicTrainingPaidHere;
+            }
+            standIns().basicTrainingPaidHere = new StandInBoolean(false);
+        }
+        return standIns.basicTrainingPaidHere;
+    }
+    
+    /**
+     * Returns true if the character is trained in the use of
+     * this WeaponSkill or some more broad category that includes
+     * it.
+     */
+    public ObservableBoolean isTrained() {
+        if (standIns == null || standIns.trained == null) {
+            if (values != null) {
+                return values.trained;
+            }
+            standIns().trained = new StandInBoolean(true);
+        }
+        return standIns.trained;
+    }
+    
+    /**
+     * Returns the number of levels of this weapon skill that the
+     * character has paid for.
+     */
+    public SettableIntValue getLevelsPurchased() {
+        if (standIns == null || standIns.levelsPurchased == null) {
+            if (values != null) {
+                return values.levelsPurchased;
+            }
+            standIns().levelsPurchased = new StandInSettableInt();
+        }
+        return standIns.levelsPurchased;
+    }
+    
+    /**
+     * Returns the number of levels that the character can use with
+     * this weapon or weapons in this weapon group.
+     */
+    public TweakableIntValue getLevels() {
+        if (standIns == null || standIns.levels == null) {
+            if (values != null) {
+                return values.levels;
+            }
+            standIns().levels = new StandInTweakableInt(true, false);
+        }
+        return standIns.levels;
+    }
+    
+    /**
+     * Returns the cost for just this particular WeaponTraining, not
+     * including any parent or child WeaponTrainings.
+     */
+    public TweakableIntValue getThisCost() {
+        if (standIns == null || standIns.thisCost == null) {
+            if (values != null) {
+                return values.thisCost;
+            }
+            standIns().thisCost = new StandInTweakableInt(false, false);
+        }
+        return standIns.thisCost;
+    }
+    
+    /**
+     * Returns the cumulative cost for this particular WeaponTraining and all
+     * child WeaponTrainings.
+     */
+    public TweakableIntValue getTotalCost() {
+        if (standIns == null || standIns.totalCost == null) {
+            if (values != null) {
+                return values.totalCost;
+            }
+            standIns().totalCost = new StandInTweakableInt(false, true);
+        }
+        return standIns.totalCost;
+    }
+    
+    /**
+     * This creates a new WeaponTraining which is a child of this one.
+     * 
+     * @param weaponSkill the WeaponSkill of this child. Must have a
+     *   span which is one less than the span of this WeaponTraining's skill.
+     * @return the newly created WeaponTraining.
+     */
+    public WeaponTraining createChild(WeaponSkill weaponSkill) {
+        WeaponTraining result = new WeaponTraining(this, weaponSkill);
+        childList().add(result);
+        return result;
+    }
+
+    /**
+     * This is passed a WeaponTraining which is expected to be a child of
+     * this one. If it is, then that child is removed. If it is not, then
+     * the behavior is unspecified (currently, it does nothing).
+     *
+     * @param child a WeaponTraining which is a child of this one.
+     */
+    public void removeChild(WeaponTraining child) {
+        if (children != null) {
+            children.remove(child);
+        }
+    }
+
+    /**
+     * This tests whether this WeaponTraining is currently storing no useful
+     * data, and can be pruned from the tree without affecting the character
+     * sheet. Any training, levels, tweaks, or any child which cannot be
+     * pruned will prevent pruning. Also, the top level WeaponTraining (the
+     * AllCombat level) cannot be pruned.
+     *
+     * @return true if it can be pruned, false if not.
+     */
+    public boolean canPrune() {
+        if (children != null) {
+            for (WeaponTraining child : children) {
+                if (!child.canPrune()) {
+                    return false;
+                }
+            }
+        }
+        return !cannotPruneDueToFeatures();
+    }
+
+    /**
+     * Internal subroutine to share between prune() and canPrune(). It tests
+     * whether we can prune this WeaponTraining considering only the WeaponTraining
+     * itself, not considering it's children.
+     */
+    private boolean cannotPruneDueToFeatures() {
+        if (values == null) {
+            return parent == null; // untouched, so there's nothing to keep
+        }
+        if(getBasicTrainingPaidHere().getValue()) {
+            return true;
+        }
+        if (getLevelsPurchased().getValue() != 0) {
+            return true;
+        }
+        if (getLevels().isTweaked() ||  getThisCost().isTweaked() || getTotalCost().isTweaked()) {
+            return true;
+        }
+        if (parent == null) {
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * This walks this WeaponTraining and all child WeaponTrainings, keeping
+     * every item that has basicTrainingDesired, levelsPurchased, any tweaked
+     * values, or has child we keep, and removing all other items. This node itself
+     * will still exist, even if empty, but the method returns true if this
+     * WeaponTraining can itself be pruned and false if it cannot.
+     */
+    public boolean prune() {
+        boolean hasChild;
+        if (!hasChildren()) {
+            hasChild = false;
+        } else {
+            List<WeaponTraining> childrenToRemove = new ArrayList<WeaponTraining>();
+            for (WeaponTraining child : children) {
+                if (child.prune()) {
+                    childrenToRemove.add(child);
+                }
+            }
+            for (WeaponTraining child : childrenToRemove) {
+                removeChild(child);
+            }
+            hasChild = !children.isEmpty();
+        }
+        return !(hasChild || cannotPruneDueToFeatures());
+    }
+    
+    /**
+     * This removes all children, all tweaks, and sets the levelsPurchased to 0 and
+     * basicTrainingDesired to false. Essentially, it wipes clean this and all children.
+     */
+    public void clean() {
+        if (children != null) {
+            for (WeaponTraining child : children) {
+                child.clobber();
+            }
+            children.clear();
+        }
+        if (values == null) {
+            return; // untouched, so it's already clean
+        }
+        getLevels().setAdjustments(null, null);
+        getThisCost().setAdjustments(null, null);
+        getTotalCost().setAdjustments(null, null);
+        getBasicTrainingDesired().setValue(false);
+        getLevelsPurchased().setValue(0);
+    }
+    
+    /**
+     * A subroutine of clean() so that we don't have to carefully reset values
+     * on items which will be deleted in a moment.
+     */
+    private void clobber() {
+        if (children != null) {
+            for (WeaponTraining child : children) {
+                child.clobber();
+            }
+            children.clear();
+        }
+    }
+    
+    /**
+     * This creates the top-level WeaponTraining for a character.
+     */
+    public static WeaponTraining createAllCombatTraining() {
+        return new WeaponTraining(null, WeaponsCatalog.getSingleton().getAllCombatSkill());
+    }
+
+}
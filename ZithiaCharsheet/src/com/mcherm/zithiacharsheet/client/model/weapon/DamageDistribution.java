@@ -0,0 +1,157 @@
+/*
+ * Copyright 2009 Michael Chermside
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.mcherm.zithiacharsheet.client.model.weapon;
+
+
+/**
+ * The exact probability distribution of the result of a DamageRoll.
+ * The distribution is stored as a count of the ways each result can
+ * come up, so probabilities are exact ratios of whole numbers.
+ * <p>
+ * Instances are immutable. They are cached by DamageRoll, so there is
+ * only one for each distinct expression.
+ */
+public class DamageDistribution {
+    private final int min;
+    private final long[] counts;
+    private final long total;
+    private final double mean;
+    private final double variance;
+
+    /**
+     * Constructor.
+     *
+     * @param min the lowest possible result
+     * @param counts counts[i] is the number of ways to get min + i.
+     *   The array is not copied, so the caller must not change it.
+     */
+    DamageDistribution(int min, long[] counts) {
+        this.min = min;
+        this.counts = counts;
+        long total = 0;
+        double sum = 0;
+        for (int i=0; i<counts.length; i++) {
+            total += counts[i];
+            sum += (double) counts[i] * (min + i);
+        }
+        this.total = total;
+        this.mean = sum / total;
+        double squares = 0;
+        for (int i=0; i<counts.length; i++) {
+            double diff = (min + i) - mean;
+            squares += counts[i] * diff * diff;
+        }
+        this.variance = squares / total;
+    }
+
+    /** A distribution of a uniform roll from low to high, inclusive. */
+    static DamageDistribution uniform(int low, int high) {
+        long[] counts = new long[high - low + 1];
+        for (int i=0; i<counts.length; i++) {
+            counts[i] = 1;
+        }
+        return new DamageDistribution(low, counts);
+    }
+
+    /**
+     * A distribution of the sum of some number of dice, plus a modifier.
+     * Results below zero are counted as zero, since damage is never negative.
+     */
+    static DamageDistribution dice(int numDice, int sides, int modifier) {
+        long[] counts = {1};
+        for (int d=0; d<numDice; d++) {
+            long[] next = new long[counts.length + sides - 1];
+            for (int i=0; i<counts.length; i++) {
+                for (int face=0; face<sides; face++) {
+                    next[i + face] += counts[i];
+                }
+            }
+            counts = next;
+        }
+        int low = numDice + modifier;
+        if (low >= 0) {
+            return new DamageDistribution(low, counts);
+        }
+        // -- Pile everything below zero onto zero --
+        int below = Math.min(-low, counts.length - 1);
+        long[] clipped = new long[counts.length - below];
+        for (int i=0; i<counts.length; i++) {
+            clipped[Math.max(0, i - below)] += counts[i];
+        }
+        return new DamageDistribution(Math.max(0, low), clipped);
+    }
+
+    /** The lowest possible result. */
+    public int getMin() {
+        return min;
+    }
+
+    /** The highest possible result. */
+    public int getMax() {
+        return min + counts.length - 1;
+    }
+
+    /** The number of equally likely outcomes that produce the given result. */
+    public long getCount(int result) {
+        int i = result - min;
+        return (i < 0 || i >= counts.length) ? 0 : counts[i];
+    }
+
+    /** The total number of equally likely outcomes. */
+    public long getTotal() {
+        return total;
+    }
+
+    /** The probability of exactly the given result. */
+    public double getProbability(int result) {
+        return (double) getCount(result) / total;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public double getVariance() {
+        return variance;
+    }
+
+    public double getStandardDeviation() {
+        return Math.sqrt(variance);
+    }
+
+    /**
+     * Returns the smallest result r such that the chance of rolling r or
+     * less is at least the given fraction. So percentile(0.5) is the median.
+     *
+     * @param fraction a number from 0 to 1
+     */
+    public int percentile(double fraction) {
+        if (fraction < 0 || fraction > 1) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 1.");
+        }
+        long needed = (long) Math.ceil(fraction * total);
+        long soFar = 0;
+        for (int i=0; i<counts.length; i++) {
+            soFar += counts[i];
+            if (soFar >= needed) {
+                return min + i;
+            }
+        }
+        return getMax();
+    }
+
+}
@@ -1,39 +1,186 @@
-/*
- * Copyright 2009 Michael Chermside
- *
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- *
- *   http://www.apache.org/licenses/LICENSE-2.0
- *
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- */
-package com.mcherm.zithiacharsheet.client.model.weapon;
-
-
-/**
- * This represents a single roll of some number of dice.
- * <p>
- * Instances are immutable.
- */
-public class DamageRoll {
-    private String str;
-
-    /** Constructor. */
-    public DamageRoll(String str) {
-        this.str = str;
-    }
-
-    /**
-     * Return the string describing the roll. For instance, "2D6-1".
-     * @return
-     */
-    public String getStr() {
-        return str;
-    }
-}
+/*
+ * Copyright 2009 Michael Chermside
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.mcherm.zithiacharsheet.client.model.weapon;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.mcherm.zithiacharsheet.client.model.StatValue;
+import com.mcherm.zithiacharsheet.client.model.ZithiaStat;
+
+
+/**
+ * This represents a single roll of some number of dice.
+ * <p>
+ * The string is parsed when the DamageRoll is created. The forms
+ * understood are "NdM", "NdM+K" and "NdM-K" (a number of dice with
+ * some number of sides, plus or minus a modifier), a plain number
+ * such as "0", and "0-Str" (anything from 0 up to the character's
+ * strength, which can only be worked out given a strength).
+ * <p>
+ * Instances are immutable.
+ */
+public class DamageRoll {
+    private static final String STR_RANGE = "0-STR";
+
+    /**
+     * Distributions are cached by a canonical form of the expression (plus
+     * the strength for rolls that depend on it) since most weapons share
+     * their damage rolls with some other weapon.
+     */
+    private static final Map<String,DamageDistribution> distributionCache =
+        new HashMap<String,DamageDistribution>();
+
+    private final String str;
+    private final boolean strBased;
+    private final int numDice;
+    private final int sides;
+    private final int modifier;
+
+    /**
+     * Constructor.
+     *
+     * @throws RuntimeException if the string isn't a damage roll.
+     */
+    public DamageRoll(String str) {
+        this.str = str;
+        String s = str.trim().toUpperCase();
+        if (STR_RANGE.equals(s)) {
+            strBased = true;
+            numDice = 0;
+            sides = 0;
+            modifier = 0;
+            return;
+        }
+        strBased = false;
+        int dPos = s.indexOf('D');
+        if (dPos == -1) {
+            numDice = 0;
+            sides = 0;
+            modifier = parseNumber(s);
+            return;
+        }
+        numDice = dPos == 0 ? 1 : parseNumber(s.substring(0, dPos));
+        int signPos = Math.max(s.indexOf('+'), s.indexOf('-'));
+        if (signPos == -1) {
+            sides = parseNumber(s.substring(dPos + 1));
+            modifier = 0;
+        } else {
+            sides = parseNumber(s.substring(dPos + 1, signPos));
+            int amount = parseNumber(s.substring(signPos + 1));
+            modifier = s.charAt(signPos) == '-' ? -amount : amount;
+        }
+        if (numDice < 1 || sides < 1) {
+            throw invalid();
+        }
+    }
+
+    /** Subroutine of the constructor to read a non-negative whole number. */
+    private int parseNumber(String s) {
+        if (s.length() == 0) {
+            throw invalid();
+        }
+        for (int i=0; i<s.length(); i++) {
+            if (!Character.isDigit(s.charAt(i))) {
+                throw invalid();
+            }
+        }
+        return Integer.parseInt(s);
+    }
+
+    private RuntimeException invalid() {
+        return new RuntimeException("Invalid damage roll '" + str + "'.");
+    }
+
+    /**
+     * Return the string describing the roll. For instance, "2D6-1".
+     * @return
+     */
+    public String getStr() {
+        return str;
+    }
+
+    /** Returns true if the roll can only be worked out given a strength. */
+    public boolean isStrBased() {
+        return strBased;
+    }
+
+    /** The number of dice rolled; 0 for a constant or a strength-based roll. */
+    public int getNumDice() {
+        return numDice;
+    }
+
+    /** The number of sides on each die; 0 if no dice are rolled. */
+    public int getSides() {
+        return sides;
+    }
+
+    /** The amount added to the dice (or the whole value, for a constant). */
+    public int getModifier() {
+        return modifier;
+    }
+
+    /**
+     * Returns the distribution of this roll.
+     *
+     * @throws IllegalStateException if the roll depends on strength.
+     */
+    public DamageDistribution getDistribution() {
+        if (strBased) {
+            throw new IllegalStateException("Damage roll '" + str + "' needs a strength.");
+        }
+        return getDistribution(0);
+    }
+
+    /**
+     * Returns the distribution of this roll for a character with the given
+     * strength. Rolls that don't depend on strength ignore it.
+     */
+    public DamageDistribution getDistribution(int strength) {
+        String key;
+        if (strBased) {
+            key = STR_RANGE + ":" + Math.max(0, strength);
+        } else if (numDice == 0) {
+            key = Integer.toString(modifier);
+        } else {
+            key = numDice + "D" + sides + (modifier < 0 ? "" : "+") + modifier;
+        }
+        DamageDistribution result = distributionCache.get(key);
+        if (result == null) {
+            if (strBased) {
+                result = DamageDistribution.uniform(0, Math.max(0, strength));
+            } else if (numDice == 0) {
+                result = DamageDistribution.uniform(modifier, modifier);
+            } else {
+                result = DamageDistribution.dice(numDice, sides, modifier);
+            }
+            distributionCache.put(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the distribution of this roll for a character with the
+     * given strength.
+     */
+    public DamageDistribution getDistribution(StatValue strValue) {
+        if (strValue.getStat() != ZithiaStat.STR) {
+            throw new RuntimeException("Invalid: damage must be based on str.");
+        }
+        return getDistribution(strValue.getValue().getValue());
+    }
+}
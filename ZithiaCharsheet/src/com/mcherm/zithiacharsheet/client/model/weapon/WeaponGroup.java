@@ -1,29 +1,29 @@
-/*
- * Copyright 2009 Michael Chermside
- *
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- *
- *   http://www.apache.org/licenses/LICENSE-2.0
- *
- *  Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- *
- */
-package com.mcherm.zithiacharsheet.client.model.weapon;
-
-/**
- * FIXME: If WeaponGroup winds up having no features which
- * distinguish it from WeaponCluster, then get rid of it
- * and rename WeaponCluster as "WeaponGroup".
- */
-public class WeaponGroup extends WeaponCluster {
-
-    public WeaponGroup(WeaponCluster parent, String id, String name, int span) {
-        super(parent, id, name, span);
-    }
-}
+/*
+ * Copyright 2009 Michael Chermside
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.mcherm.zithiacharsheet.client.model.weapon;
+
+/**
+ * FIXME: If WeaponGroup winds up having no features which
+ * distinguish it from WeaponCluster, then get rid of it
+ * and rename WeaponCluster as "WeaponGroup".
+ */
+public class WeaponGroup extends WeaponCluster {
+
+    public WeaponGroup(WeaponCluster parent, String id, String name, int span) {
+        super(parent, id, name, span);
+    }
+}
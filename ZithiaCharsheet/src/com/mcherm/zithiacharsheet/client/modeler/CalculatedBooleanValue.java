@@ -1,66 +1,116 @@
-/*
- * Copyright 2009 Michael Chermside
- *
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- *
- *   http://www.apache.org/licenses/LICENSE-2.0
- *
- *  Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- *
- */
-package com.mcherm.zithiacharsheet.client.modeler;
-
-
-/**
- * A class where a boolean value can be calculated as depending on certain other
- * observable values.
- */
-public class CalculatedBooleanValue extends SimpleObservable implements ObservableBoolean, Disposable {
-
-    private final Disposer disposer = new Disposer();
-    private boolean value;
-    
-    public static interface BooleanValueCalculator {
-        public boolean calculateValue();
-    }
-
-    /**
-     * Constructor.
-     * 
-     * @param inputs a list of inputs that this depends on. The list
-     *   passed must never change (it can be a clone of another list
-     *   if necessary).
-     * @param valueCalculator a function to calculate the value at
-     *   any point in time.
-     */
-    public CalculatedBooleanValue(
-            final Iterable<? extends Observable> inputs,
-            final BooleanValueCalculator valueCalculator)
-    {
-        value = valueCalculator.calculateValue();
-        Observable.Observer inputObserver = new Observable.Observer() {
-            public void onChange() {
-                value = valueCalculator.calculateValue();
-                alertObservers();
-            }
-        };
-        for (Observable input : inputs) {
-            disposer.observe(input, inputObserver);
-        }
-    }
-    
-    
-    public boolean getValue() {
-        return value;
-    }
-
-    public void dispose() {
-        disposer.dispose();
-    }
-}
+/*
+ * Copyright 2009 Michael Chermside
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.mcherm.zithiacharsheet.client.modeler;
+
+
+/**
+ * A class where a boolean value can be calculated as depending on certain other
+ * observable values.
+ */
+public class CalculatedBooleanValue extends DependentObservable implements ObservableBoolean, Disposable {
+
+    private final Disposer disposer = new Disposer();
+    private final BooleanValueCalculator valueCalculator;
+    private final boolean lazy;
+    private boolean outOfDate;
+    private boolean value;
+    
+    public static interface BooleanValueCalculator {
+        public boolean calculateValue();
+    }
+
+    /**
+     * Constructor.
+     * 
+     * @param inputs a list of inputs that this depends on. The list
+     *   passed must never change (it can be a clone of another list
+     *   if necessary).
+     * @param valueCalculator a function to calculate the value at
+     *   any point in time.
+     */
+    public CalculatedBooleanValue(
+            final Iterable<? extends Observable> inputs,
+            final BooleanValueCalculator valueCalculator)
+    {
+        this(inputs, valueCalculator, isLazyByDefault());
+    }
+
+    /**
+     * Constructor.
+     * 
+     * @param inputs a list of inputs that this depends on. The list
+     *   passed must never change (it can be a clone of another list
+     *   if necessary).
+     * @param valueCalculator a function to calculate the value at
+     *   any point in time.
+     * @param lazy true to calculate the value only when it is read,
+     *   false to calculate it whenever an input changes.
+     */
+    public CalculatedBooleanValue(
+            final Iterable<? extends Observable> inputs,
+            final BooleanValueCalculator valueCalculator,
+            final boolean lazy)
+    {
+        this.valueCalculator = valueCalculator;
+        this.lazy = lazy;
+        if (lazy) {
+            outOfDate = true;
+        } else {
+            outOfDate = false;
+            value = valueCalculator.calculateValue();
+        }
+        for (Observable input : inputs) {
+            disposer.observe(input, this);
+        }
+    }
+
+    protected void recompute() {
+        if (lazy) {
+            outOfDate = true;
+            alertObservers();
+        } else {
+            boolean newValue = valueCalculator.calculateValue();
+            if (outOfDate || newValue != value) {
+                value = newValue;
+                outOfDate = false;
+                alertObservers();
+            }
+        }
+    }
+
+    @Override
+    Object getSiteObject() {
+        return valueCalculator;
+    }
+
+    /** Returns true if this only calculates its value when it is read. */
+    public boolean isLazy() {
+        return lazy;
+    }
+    
+    public boolean getValue() {
+        if (outOfDate) {
+            value = valueCalculator.calculateValue();
+            outOfDate = false;
+        }
+        return value;
+    }
+
+    public void dispose() {
+        disposer.dispose();
+    }
+}
@@ -1,97 +1,199 @@
-/*
- * Copyright 2009 Michael Chermside
- *
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- *
- *   http://www.apache.org/licenses/LICENSE-2.0
- *
- *  Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- *
- */
-package com.mcherm.zithiacharsheet.client.modeler;
-
-
-/**
- * This is a generic form of a TweakableIntValue. The value is computed
- * according to some formula and depends on certain fixed other values.
- */
-public class CalculatedIntValue<T extends Observable> extends SimpleObservable implements TweakableIntValue {
-    
-    public static interface ValueCalculator<T> {
-        public int calculateValue(Iterable<? extends T> inputs);
-    }
-    
-        
-    private final Disposer disposer = new Disposer();
-    private int value;
-    private Integer override;
-    private Integer modifier;
-
-    /**
-     * Constructor.
-     * 
-     * @param inputs a list of inputs that this depends on. The list
-     *   passed will be iterated once; after that any changes made
-     *   to it would be ignored.
-     * @param valueCalculator a function to calculate the value at
-     *   any point in time.
-     */
-    public CalculatedIntValue(
-            final Iterable<? extends T> inputs,
-            final ValueCalculator<T> valueCalculator)
-    {
-        override = null;
-        modifier = null;
-        value = valueCalculator.calculateValue(inputs);
-        Observable.Observer inputObserver = new Observable.Observer() {
-            public void onChange() {
-                value = valueCalculator.calculateValue(inputs);
-                alertObservers();
-            }
-        };
-        for (Observable input : inputs) {
-            disposer.observe(input, inputObserver);
-        }
-    }
-
-    public int getValue() {
-        if (override != null) {
-            return override.intValue();
-        } else if (modifier != null) {
-            return value + modifier.intValue();
-        } else {
-            return value;
-        }
-    }
-
-    public boolean isTweaked() {
-        return override != null || modifier != null;
-    }
-
-    public Integer getOverride() {
-        return override;
-    }
-
-    public Integer getModifier() {
-        return modifier;
-    }
-
-    public void setAdjustments(Integer override, Integer modifier) {
-        if (override != null && modifier != null) {
-            throw new IllegalArgumentException("Either override or modifier must be null.");
-        }
-        this.override = override;
-        this.modifier = modifier;
-        alertObservers();
-    }
-    
-    public void dispose() {
-        disposer.dispose();
-    }
-}
+/*
+ * Copyright 2009 Michael Chermside
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.mcherm.zithiacharsheet.client.modeler;
+
+
+/**
+ * This is a generic form of a TweakableIntValue. The value is computed
+ * according to some formula and depends on certain fixed other values.
+ * <p>
+ * Normally the value is recalculated as soon as an input changes. A
+ * lazy one instead just remembers that it is out of date (and alerts
+ * its observers); the calculation happens in getValue(), and only if
+ * somebody actually asks.
+ * <p>
+ * A value that is recalculated but comes out the same as before does
+ * not alert its observers. (A lazy one can't know that, so it always
+ * passes the alert along.)
+ */
+public class CalculatedIntValue<T extends Observable> extends DependentObservable implements TweakableIntValue {
+    
+    public static interface ValueCalculator<T> {
+        public int calculateValue(Iterable<? extends T> inputs);
+    }
+    
+        
+    private final Disposer disposer = new Disposer();
+    private final Iterable<? extends T> inputs;
+    private final ValueCalculator<T> valueCalculator;
+    private final boolean lazy;
+    private boolean outOfDate;
+    private int value;
+    private Integer override;
+    private Integer modifier;
+
+    /**
+     * Constructor.
+     * 
+     * @param inputs a list of inputs that this depends on. The list
+     *   passed will be iterated once; after that any changes made
+     *   to it would be ignored.
+     * @param valueCalculator a function to calculate the value at
+     *   any point in time.
+     */
+    public CalculatedIntValue(
+            final Iterable<? extends T> inputs,
+            final ValueCalculator<T> valueCalculator)
+    {
+        this(inputs, valueCalculator, isLazyByDefault());
+    }
+
+    /**
+     * Constructor.
+     * 
+     * @param inputs a list of inputs that this depends on. The list
+     *   passed will be iterated once; after that any changes made
+     *   to it would be ignored.
+     * @param valueCalculator a function to calculate the value at
+     *   any point in time.
+     * @param lazy true to calculate the value only when it is read,
+     *   false to calculate it whenever an input changes.
+     */
+    public CalculatedIntValue(
+            final Iterable<? extends T> inputs,
+            final ValueCalculator<T> valueCalculator,
+            final boolean lazy)
+    {
+        this.inputs = inputs;
+        this.valueCalculator = valueCalculator;
+        this.lazy = lazy;
+        override = null;
+        modifier = null;
+        if (lazy) {
+            outOfDate = true;
+        } else {
+            outOfDate = false;
+            value = valueCalculator.calculateValue(inputs);
+        }
+        for (Observable input : inputs) {
+            disposer.observe(input, this);
+        }
+    }
+
+    /**
+     * Constructor for subclasses which calculate their value some other
+     * way: they must override calculate() and use observeInput() to
+     * register their inputs. The first calculation happens when the
+     * value is first read.
+     * 
+     * @param lazy true to calculate the value only when it is read,
+     *   false to calculate it whenever an input changes.
+     */
+    protected CalculatedIntValue(final boolean lazy) {
+        this.inputs = null;
+        this.valueCalculator = null;
+        this.lazy = lazy;
+        override = null;
+        modifier = null;
+        outOfDate = true;
+    }
+
+    /**
+     * Calculates the (unadjusted) value. By default this applies the
+     * valueCalculator to the inputs.
+     */
+    protected int calculate() {
+        return valueCalculator.calculateValue(inputs);
+    }
+
+    /** Subclasses can call this to make this depend on another input. */
+    protected void observeInput(Observable input) {
+        disposer.observe(input, this);
+    }
+
+    protected void recompute() {
+        if (lazy) {
+            outOfDate = true;
+            alertObservers();
+        } else {
+            int newValue = calculate();
+            if (outOfDate || newValue != value) {
+                value = newValue;
+                outOfDate = false;
+                alertObservers();
+            }
+        }
+    }
+
+    @Override
+    Object getSiteObject() {
+        return valueCalculator == null ? this : valueCalculator;
+    }
+
+    /** Returns true if this only calculates its value when it is read. */
+    public boolean isLazy() {
+        return lazy;
+    }
+
+    public int getValue() {
+        if (override != null) {
+            return override.intValue();
+        }
+        if (outOfDate) {
+            value = calculate();
+            outOfDate = false;
+        }
+        if (modifier != null) {
+            return value + modifier.intValue();
+        } else {
+            return value;
+        }
+    }
+
+    public boolean isTweaked() {
+        return override != null || modifier != null;
+    }
+
+    public Integer getOverride() {
+        return override;
+    }
+
+    public Integer getModifier() {
+        return modifier;
+    }
+
+    public void setAdjustments(Integer override, Integer modifier) {
+        if (override != null && modifier != null) {
+            throw new IllegalArgumentException("Either override or modifier must be null.");
+        }
+        if (sameInteger(override, this.override) && sameInteger(modifier, this.modifier)) {
+            return; // nothing changed
+        }
+        EditJournal.getInstance().recordAdjustments(this, this.override, this.modifier, override, modifier);
+        this.override = override;
+        this.modifier = modifier;
+        alertObservers();
+    }
+    
+    private static boolean sameInteger(Integer x, Integer y) {
+        return x == null ? y == null : x.equals(y);
+    }
+    
+    public void dispose() {
+        disposer.dispose();
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2009 Michael Chermside
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.mcherm.zithiacharsheet.client.modeler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.mcherm.zithiacharsheet.client.modeler.Observable.Observer;
+
+
+/**
+ * A picture of part of the dependency graph, taken by starting from some
+ * named observables and following the observers from there. Anything
+ * that depends (directly or indirectly) on one of the starting points is
+ * included, including observers that are not themselves observable
+ * (like widgets); those have no outgoing edges.
+ * <p>
+ * This is a snapshot: it doesn't change if the graph changes later.
+ */
+public class DependencyGraph {
+
+    /** One node in the graph. */
+    public static class Node {
+        private final int id;
+        private final String name;
+        private final Object target;
+        private final List<Node> observers;
+
+        private Node(int id, String name, Object target) {
+            this.id = id;
+            this.name = name;
+            this.target = target;
+            this.observers = new ArrayList<Node>();
+        }
+
+        /** A number unique within this graph. */
+        public int getId() {
+            return id;
+        }
+
+        /**
+         * The name it was given as a starting point, or null if it was
+         * only found by following observers.
+         */
+        public String getName() {
+            return name;
+        }
+
+        /** The name of the class of the node. */
+        public String getTypeName() {
+            return target.getClass().getName();
+        }
+
+        /** The node itself (an Observable, an Observer, or both). */
+        public Object getTarget() {
+            return target;
+        }
+
+        /** True if this is something that can be observed. */
+        public boolean isObservable() {
+            return target instanceof Observable;
+        }
+
+        /** The depth in the graph, or -1 if that is not known. */
+        public int getDepth() {
+            return isObservable() ? GraphMetrics.getInstance().getDepth((Observable) target) : -1;
+        }
+
+        /** The nodes that observe this one. */
+        public List<Node> getObservers() {
+            return observers;
+        }
+
+        /** The counts collected for this node, or null if there aren't any. */
+        public GraphMetrics.NodeStats getStats() {
+            return isObservable() ? GraphMetrics.getInstance().getStats((Observable) target) : null;
+        }
+    }
+
+    private final List<Node> nodes;
+    private final Map<Object,Node> nodesByTarget;
+
+
+    /**
+     * Constructor.
+     *
+     * @param startingPoints the observables to start from, with names.
+     *   The iteration order of the map is used for numbering.
+     */
+    public DependencyGraph(Map<String,? extends Observable> startingPoints) {
+        nodes = new ArrayList<Node>();
+        nodesByTarget = new HashMap<Object,Node>();
+        for (Map.Entry<String,? extends Observable> entry : startingPoints.entrySet()) {
+            if (!nodesByTarget.containsKey(entry.getValue())) {
+                addNode(entry.getKey(), entry.getValue());
+            }
+        }
+        // nodes grows as we go, so this visits everything we find
+        for (int i=0; i<nodes.size(); i++) {
+            Node node = nodes.get(i);
+            if (node.target instanceof SimpleObservable) {
+                for (Observer observer : ((SimpleObservable) node.target).getObservers()) {
+                    Node observerNode = nodesByTarget.get(observer);
+                    if (observerNode == null) {
+                        observerNode = addNode(null, observer);
+                    }
+                    node.observers.add(observerNode);
+                }
+            }
+        }
+    }
+
+    private Node addNode(String name, Object target) {
+        Node node = new Node(nodes.size(), name, target);
+        nodes.add(node);
+        nodesByTarget.put(target, node);
+        return node;
+    }
+
+    /** Returns all the nodes, in order of id. */
+    public List<Node> getNodes() {
+        return nodes;
+    }
+
+    /** Returns the node for a given observable or observer, or null if it isn't in the graph. */
+    public Node getNode(Object target) {
+        return nodesByTarget.get(target);
+    }
+
+}
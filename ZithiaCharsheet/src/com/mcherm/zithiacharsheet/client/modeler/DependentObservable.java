@@ -0,0 +1,83 @@
+/*
+ * Copyright 2009 Michael Chermside
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.mcherm.zithiacharsheet.client.modeler;
+
+
+/**
+ * A SimpleObservable whose value is calculated from other observables.
+ * It registers itself as an Observer of each of its inputs, but it does
+ * not recalculate inside onChange(). Instead, the Propagator is told that
+ * this is dirty, and it calls recompute() once all of the inputs have
+ * been brought up to date.
+ * <p>
+ * Because it observes its inputs, each DependentObservable always has a
+ * rank greater than the rank of everything it observes. The Propagator
+ * recomputes in order of rank, which is a topological order of the
+ * dependency graph.
+ */
+public abstract class DependentObservable extends SimpleObservable implements Observable.Observer {
+
+    /** Whether nodes created from now on should be lazy unless they say otherwise. */
+    private static boolean lazyByDefault = false;
+
+    /** True while this is waiting in the Propagator's queue. Managed by the Propagator. */
+    boolean scheduled = false;
+
+    /**
+     * Sets whether calculated values created after this call are lazy
+     * by default. A lazy value does not recalculate when its inputs
+     * change; it just notes that it is out of date and passes the
+     * alert along, then recalculates the next time someone reads it.
+     * Code that builds a character without displaying it (like on the
+     * server) can turn this on so it never calculates values nobody
+     * reads.
+     */
+    public static void setLazyByDefault(boolean lazy) {
+        lazyByDefault = lazy;
+    }
+
+    /** Returns the setting from setLazyByDefault(). */
+    public static boolean isLazyByDefault() {
+        return lazyByDefault;
+    }
+
+    /**
+     * Called when one of the inputs changes. This just schedules the
+     * recalculation; it does not perform it.
+     */
+    public void onChange() {
+        Propagator.getInstance().schedule(this);
+    }
+
+    /**
+     * Subclasses implement this to recalculate their value from their
+     * inputs, calling alertObservers() if observers need to hear about
+     * it. The Propagator calls this only after every input of lower rank
+     * has been recomputed, and at most once per change for each node.
+     */
+    protected abstract void recompute();
+
+    /**
+     * Returns the object whose class best identifies where this was
+     * created (for things like the LeakAuditor). Subclasses that are
+     * built from a formula return the formula.
+     */
+    Object getSiteObject() {
+        return this;
+    }
+
+}
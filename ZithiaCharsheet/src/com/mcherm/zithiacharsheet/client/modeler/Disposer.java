@@ -1,98 +1,248 @@
-/*
- * Copyright 2009 Michael Chermside
- *
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- *
- *   http://www.apache.org/licenses/LICENSE-2.0
- *
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- */
-package com.mcherm.zithiacharsheet.client.modeler;
-
-import com.mcherm.zithiacharsheet.client.modeler.Observable.Observer;
-import com.mcherm.zithiacharsheet.client.util.ImmutableList;
-
-
-/**
- * Because observers keep a (hard) reference to their observers, the
- * observers cannot be freed by the garbage collector. This is a class
- * that can be extended by things which will need to register
- * observers and want to be sure that they will get unregistered
- * when the object is no longer in use. Users must call the dispose()
- * method before the object is ready to be garbage collected.
- * <p>
- * The class can be used in two ways. A class can extend from it, or
- * can create an instance of it. If they create an instance, it is a
- * good practice to call the dispose() method from a dispose() method
- * in the owner object.
- * <p>
- * FIXME: Need to update the docs and rename it to "Disposer" if I keep
- *   the change that adds a list of disposables to be cleaned up.
- */
-public class Disposer implements Disposable {
-
-    private boolean hasBeenDisposed = false;
-    private ImmutableList<Disposable> disposables = new ImmutableList<Disposable>();
-
-    /**
-     * Call this to add an observer to an observable; it will be removed when the
-     * dispose() method is called.
-     *
-     * @param observable the observable to observe
-     * @param observer the observer that will be doing the observing
-     */
-    public void observe(Observable observable, Observer observer) {
-        if (hasBeenDisposed) {
-            throw new RuntimeException("Must not use an object that has been disposed.");
-        }
-        addDisposable(new Observation(observable, observer));
-    }
-
-    // FIXME: Don't keep BOTH this AND track() ... figure out which is best
-    public void addDisposable(Disposable disposable) {
-        disposables = disposables.add(disposable);
-    }
-
-    // FIXME: Doc this, but only if it works!
-    public <T extends Disposable> T track(T disposable) {
-        addDisposable(disposable);
-        return disposable;
-    }
-
-    /**
-     * Call this before freeing the last reference to the object. It will then
-     * unregister its listeners from all observers.
-     */
-    public void dispose() {
-        if (hasBeenDisposed) {
-            throw new RuntimeException("Cannot dispose object more than once.");
-        }
-        for (Disposable disposable : disposables) {
-            disposable.dispose();
-        }
-        hasBeenDisposed = true;
-        disposables = null;
-    }
-
-    /** On creation it adds an observer; when disposed it removes it. */
-    private static class Observation implements Disposable {
-        private final Observable observable;
-        private final Observer observer;
-        public Observation(Observable observable, Observer observer) {
-            this.observable = observable;
-            this.observer = observer;
-            observable.addObserver(observer);
-        }
-
-        public void dispose() {
-            observable.removeObserver(observer);
-        }
-    }
-
-}
+/*
+ * Copyright 2009 Michael Chermside
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mcherm.zithiacharsheet.client.modeler;
+
+import java.util.Iterator;
+
+import com.mcherm.zithiacharsheet.client.modeler.Observable.Observer;
+import com.mcherm.zithiacharsheet.client.util.CopyOnWriteArray;
+
+
+/**
+ * Because observers keep a (hard) reference to their observers, the
+ * observers cannot be freed by the garbage collector. This is a class
+ * that can be extended by things which will need to register
+ * observers and want to be sure that they will get unregistered
+ * when the object is no longer in use. Users must call the dispose()
+ * method before the object is ready to be garbage collected.
+ * <p>
+ * The class can be used in two ways. A class can extend from it, or
+ * can create an instance of it. If they create an instance, it is a
+ * good practice to call the dispose() method from a dispose() method
+ * in the owner object.
+ * <p>
+ * Disposers can also be used as hierarchical "scopes". Between
+ * openScope() and closeScope() (or inside runInScope()), any Disposer
+ * that is created becomes a child of the scope, and any SimpleObservable
+ * that is created is owned by the scope. Disposing the scope disposes
+ * all the children. And since everything the scope owns is being thrown
+ * away too, observers on those observables aren't removed one at a
+ * time: only the observers on things outside the scope (the edges that
+ * cross the boundary) are actually unhooked. So a whole subgraph can be
+ * dropped for about the cost of its links to the rest of the world.
+ * <p>
+ * Of course, this means nothing created in a scope may be used after
+ * the scope is disposed.
+ */
+public class Disposer implements Disposable {
+
+    /** The innermost open scope, or null if none is open. */
+    private static Disposer currentScope = null;
+
+    private boolean hasBeenDisposed = false;
+    /** True while this is being disposed. */
+    private boolean disposing = false;
+    private CopyOnWriteArray<Disposable> disposables = new CopyOnWriteArray<Disposable>();
+    private final Disposer parent;
+    /** The scope that was current when this scope was opened. */
+    private Disposer outerScope = null;
+
+
+    /**
+     * Constructor. If a scope is open, the new Disposer becomes a child
+     * of it.
+     */
+    public Disposer() {
+        this(currentScope);
+    }
+
+    /**
+     * Constructor for a Disposer that is a child of parent (which may be
+     * null for none). It will be disposed when parent is.
+     */
+    public Disposer(Disposer parent) {
+        this.parent = parent;
+        if (parent != null) {
+            parent.addDisposable(this);
+        }
+    }
+
+    /** Returns the innermost open scope, or null if none is open. */
+    public static Disposer getCurrentScope() {
+        return currentScope;
+    }
+
+    /**
+     * Makes this the current scope until closeScope() is called. Scopes
+     * may be nested, but must be closed in the reverse order they were
+     * opened, so use try-finally.
+     */
+    public void openScope() {
+        if (hasBeenDisposed) {
+            throw new RuntimeException("Must not use an object that has been disposed.");
+        }
+        outerScope = currentScope;
+        currentScope = this;
+    }
+
+    /** Ends what openScope() started. */
+    public void closeScope() {
+        if (currentScope != this) {
+            throw new RuntimeException("Scopes must be closed in the reverse of the order they were opened.");
+        }
+        currentScope = outerScope;
+        outerScope = null;
+    }
+
+    /** Runs something with this as the current scope. */
+    public void runInScope(Runnable runnable) {
+        openScope();
+        try {
+            runnable.run();
+        } finally {
+            closeScope();
+        }
+    }
+
+    /**
+     * Returns true if this or any scope that contains it is currently
+     * being disposed.
+     */
+    private boolean isDying() {
+        for (Disposer scope = this; scope != null; scope = scope.parent) {
+            if (scope.disposing) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Call this to add an observer to an observable; it will be removed when the
+     * dispose() method is called.
+     *
+     * @param observable the observable to observe
+     * @param observer the observer that will be doing the observing
+     */
+    public void observe(Observable observable, Observer observer) {
+        if (hasBeenDisposed) {
+            throw new RuntimeException("Must not use an object that has been disposed.");
+        }
+        addDisposable(new Observation(observable, observer));
+    }
+
+    /**
+     * Undoes observe(): removes the observer from the observable now, and
+     * forgets about it so dispose() won't remove it again. Does nothing if
+     * observe() was never called with this pair (or the disposer is already
+     * being disposed).
+     *
+     * @param observable the observable that was being observed
+     * @param observer the observer that was doing the observing
+     */
+    public void unobserve(Observable observable, Observer observer) {
+        if (disposables == null || disposing) {
+            return;
+        }
+        Iterator<Disposable> iterator = disposables.reverseIterator();
+        while (iterator.hasNext()) {
+            Disposable disposable = iterator.next();
+            if (disposable instanceof Observation && ((Observation) disposable).matches(observable, observer)) {
+                disposables.removeInOrder(disposable);
+                disposable.dispose();
+                return;
+            }
+        }
+    }
+
+    // FIXME: Don't keep BOTH this AND track() ... figure out which is best
+    public void addDisposable(Disposable disposable) {
+        disposables.add(disposable);
+    }
+
+    // FIXME: Doc this, but only if it works!
+    public <T extends Disposable> T track(T disposable) {
+        addDisposable(disposable);
+        return disposable;
+    }
+
+    /**
+     * Call this before freeing the last reference to the object. It will then
+     * unregister its listeners from all observers.
+     */
+    public void dispose() {
+        if (hasBeenDisposed) {
+            throw new RuntimeException("Cannot dispose object more than once.");
+        }
+        disposing = true;
+        // Newest first, so things are torn down in the reverse of the order they were set up
+        Iterator<Disposable> iterator = disposables.reverseIterator();
+        while (iterator.hasNext()) {
+            Disposable disposable = iterator.next();
+            if (disposable instanceof Disposer && ((Disposer) disposable).hasBeenDisposed) {
+                continue; // a child that its owner already disposed
+            }
+            disposable.dispose();
+        }
+        disposing = false;
+        hasBeenDisposed = true;
+        disposables = null;
+        if (parent != null && !parent.isDying() && parent.disposables != null) {
+            parent.disposables.removeInOrder(this); // so the parent doesn't hold on to it (and its teardown order is kept)
+        }
+    }
+
+    /** On creation it adds an observer; when disposed it removes it. */
+    private static class Observation implements Disposable {
+        private final Observable observable;
+        private final Observer observer;
+        public Observation(Observable observable, Observer observer) {
+            this.observable = observable;
+            this.observer = observer;
+            observable.addObserver(observer);
+            GraphMetrics.getInstance().recordObservationAdded();
+            if (LeakAuditor.getInstance().isEnabled()) {
+                LeakAuditor.getInstance().recordViaDisposer(observable, observer);
+            }
+        }
+
+        public boolean matches(Observable observable, Observer observer) {
+            return this.observable == observable && this.observer.equals(observer);
+        }
+
+        public void dispose() {
+            if (!isInternal() || LeakAuditor.getInstance().isEnabled()) {
+                observable.removeObserver(observer);
+            }
+            GraphMetrics.getInstance().recordObservationRemoved();
+        }
+
+        /**
+         * Returns true if the observable belongs to a scope that is being
+         * disposed, so it's about to be garbage and there is no need to
+         * remove the observer from it.
+         */
+        private boolean isInternal() {
+            if (observable instanceof SimpleObservable) {
+                Disposer owner = ((SimpleObservable) observable).getOwner();
+                return owner != null && owner.isDying();
+            } else {
+                return false;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,511 @@
+/*
+ * Copyright 2009 Michael Chermside
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.mcherm.zithiacharsheet.client.modeler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.mcherm.zithiacharsheet.client.util.CopyOnWriteArray;
+
+
+/**
+ * Records changes so they can be undone and redone. When enabled, every
+ * change to a Settable*ValueImpl, every call to setAdjustments() on a
+ * CalculatedIntValue and every item added to or removed from an
+ * ObservableList is written down as a small delta (the thing changed,
+ * the old value and the new value). Nothing is ever copied wholesale.
+ * <p>
+ * The changes are grouped into "steps": a step is everything that
+ * happened during one propagation (see Propagator), so a single edit
+ * by the user, together with whatever observers changed in response to
+ * it, is undone as a unit. Repeated changes to the same value within a
+ * step are merged into one delta, found by a lookup on the value.
+ * <p>
+ * undo() and redo() apply a step's deltas inside a single
+ * Propagator.batch(), so everything affected is recalculated once.
+ * Observers that make changes of their own in response to changes
+ * should check isReplaying() and not do so while a step is being
+ * replayed, since those changes are already part of the step.
+ * <p>
+ * Memory is bounded: the steps are kept in a ring buffer, and the
+ * oldest step is forgotten when it is full.
+ * <p>
+ * The journal is itself Observable: its observers are told whenever
+ * canUndo() or canRedo() changes, so undo and redo buttons can be
+ * enabled to match.
+ * <p>
+ * NOTE: Not threadsafe. Disabled by default; when disabled it costs a
+ *   boolean check per change.
+ */
+public final class EditJournal implements Observable {
+
+    private static final EditJournal instance = new EditJournal();
+
+    /** Returns the EditJournal. */
+    public static EditJournal getInstance() {
+        return instance;
+    }
+
+    /** One recorded change. */
+    private static abstract class Edit {
+        abstract void undo();
+        abstract void redo();
+        /**
+         * Returns the thing changed, if later changes to it can be folded
+         * into this one; otherwise null.
+         */
+        Object getTarget() {
+            return null;
+        }
+        /**
+         * Folds later, a change to the same target of the same kind, into
+         * this one.
+         */
+        void absorb(Edit later) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static class IntEdit extends Edit {
+        private final SettableIntValue target;
+        private final int oldValue;
+        private int newValue;
+        IntEdit(SettableIntValue target, int oldValue, int newValue) {
+            this.target = target;
+            this.oldValue = oldValue;
+            this.newValue = newValue;
+        }
+        void undo() {
+            target.setValue(oldValue);
+        }
+        void redo() {
+            target.setValue(newValue);
+        }
+        @Override
+        Object getTarget() {
+            return target;
+        }
+        @Override
+        void absorb(Edit later) {
+            newValue = ((IntEdit) later).newValue;
+        }
+    }
+
+    private static class BooleanEdit extends Edit {
+        private final SettableBooleanValue target;
+        private final boolean oldValue;
+        private boolean newValue;
+        BooleanEdit(SettableBooleanValue target, boolean newValue) {
+            this.target = target;
+            this.oldValue = !newValue;
+            this.newValue = newValue;
+        }
+        void undo() {
+            target.setValue(oldValue);
+        }
+        void redo() {
+            target.setValue(newValue);
+        }
+        @Override
+        Object getTarget() {
+            return target;
+        }
+        @Override
+        void absorb(Edit later) {
+            newValue = ((BooleanEdit) later).newValue;
+        }
+    }
+
+    private static class StringEdit extends Edit {
+        private final SettableStringValue target;
+        private final String oldValue;
+        private String newValue;
+        StringEdit(SettableStringValue target, String oldValue, String newValue) {
+            this.target = target;
+            this.oldValue = oldValue;
+            this.newValue = newValue;
+        }
+        void undo() {
+            target.setValue(oldValue);
+        }
+        void redo() {
+            target.setValue(newValue);
+        }
+        @Override
+        Object getTarget() {
+            return target;
+        }
+        @Override
+        void absorb(Edit later) {
+            newValue = ((StringEdit) later).newValue;
+        }
+    }
+
+    private static class EnumEdit<T extends Enum<T>> extends Edit {
+        private final SettableEnumValue<T> target;
+        private final T oldValue;
+        private T newValue;
+        EnumEdit(SettableEnumValue<T> target, T oldValue, T newValue) {
+            this.target = target;
+            this.oldValue = oldValue;
+            this.newValue = newValue;
+        }
+        void undo() {
+            target.setValue(oldValue);
+        }
+        void redo() {
+            target.setValue(newValue);
+        }
+        @Override
+        Object getTarget() {
+            return target;
+        }
+        @Override
+        @SuppressWarnings("unchecked") // the same target, so the same T
+        void absorb(Edit later) {
+            newValue = ((EnumEdit<T>) later).newValue;
+        }
+    }
+
+    private static class AdjustmentsEdit extends Edit {
+        private final TweakableIntValue target;
+        private final Integer oldOverride;
+        private final Integer oldModifier;
+        private Integer newOverride;
+        private Integer newModifier;
+        AdjustmentsEdit(TweakableIntValue target, Integer oldOverride, Integer oldModifier,
+                        Integer newOverride, Integer newModifier)
+        {
+            this.target = target;
+            this.oldOverride = oldOverride;
+            this.oldModifier = oldModifier;
+            this.newOverride = newOverride;
+            this.newModifier = newModifier;
+        }
+        void undo() {
+            target.setAdjustments(oldOverride, oldModifier);
+        }
+        void redo() {
+            target.setAdjustments(newOverride, newModifier);
+        }
+        @Override
+        Object getTarget() {
+            return target;
+        }
+        @Override
+        void absorb(Edit later) {
+            newOverride = ((AdjustmentsEdit) later).newOverride;
+            newModifier = ((AdjustmentsEdit) later).newModifier;
+        }
+    }
+
+    private static class ListEdit<T> extends Edit {
+        private final ObservableList<T> list;
+        private final int index;
+        private final T item;
+        private final boolean added;
+        ListEdit(ObservableList<T> list, int index, T item, boolean added) {
+            this.list = list;
+            this.index = index;
+            this.item = item;
+            this.added = added;
+        }
+        void undo() {
+            if (added) {
+                list.remove(item);
+            } else {
+                list.add(index, item);
+            }
+        }
+        void redo() {
+            if (added) {
+                list.add(index, item);
+            } else {
+                list.remove(item);
+            }
+        }
+    }
+
+    private static class ListClearEdit<T> extends Edit {
+        private final ObservableList<T> list;
+        private final List<T> items;
+        ListClearEdit(ObservableList<T> list, List<T> items) {
+            this.list = list;
+            this.items = items;
+        }
+        void undo() {
+            for (int i=0; i<items.size(); i++) {
+                list.add(i, items.get(i));
+            }
+        }
+        void redo() {
+            list.clear();
+        }
+    }
+
+    private static final Edit[] NO_EDITS = new Edit[0];
+
+    private boolean enabled;
+    private boolean replaying;
+    /** The changes so far in the step that is under way. */
+    private final List<Edit> openStep;
+    /** The change in openStep to each target, for those that can be merged. */
+    private final Map<Object,Edit> openStepByTarget;
+    /** Ring buffer of completed steps; the oldest is at ring[start]. */
+    private Edit[][] ring;
+    private int start;
+    private int size;
+    /** Number of steps (counting from the oldest) that are currently applied; the rest can be redone. */
+    private int cursor;
+    private final CopyOnWriteArray<Observer> observers;
+    /** The values of canUndo() and canRedo() the observers were last told about. */
+    private boolean couldUndo;
+    private boolean couldRedo;
+
+
+    /** Constructor is private: use getInstance(). */
+    private EditJournal() {
+        enabled = false;
+        replaying = false;
+        openStep = new ArrayList<Edit>();
+        openStepByTarget = new HashMap<Object,Edit>();
+        ring = new Edit[100][];
+        start = 0;
+        size = 0;
+        cursor = 0;
+        observers = new CopyOnWriteArray<Observer>();
+        couldUndo = false;
+        couldRedo = false;
+    }
+
+
+    /** The observer is told whenever canUndo() or canRedo() changes. */
+    public void addObserver(Observer observer) {
+        observers.add(observer);
+    }
+
+    public void removeObserver(Observer observer) {
+        observers.remove(observer);
+    }
+
+
+    /** Turns recording on or off. Turning it off also forgets everything. */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        clear();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Returns true while undo() or redo() is applying changes. */
+    public boolean isReplaying() {
+        return replaying;
+    }
+
+    /** Sets how many steps can be undone. Forgets everything recorded so far. */
+    public void setCapacity(int steps) {
+        if (steps < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1.");
+        }
+        ring = new Edit[steps][];
+        clear();
+    }
+
+    /** Forgets all steps (for instance, after loading a different character). */
+    public void clear() {
+        openStep.clear();
+        openStepByTarget.clear();
+        for (int i=0; i<ring.length; i++) {
+            ring[i] = null;
+        }
+        start = 0;
+        size = 0;
+        cursor = 0;
+        alertIfChanged();
+    }
+
+    public boolean canUndo() {
+        return cursor > 0 || !openStep.isEmpty();
+    }
+
+    public boolean canRedo() {
+        return cursor < size && openStep.isEmpty();
+    }
+
+    /** Undoes the most recent step. Does nothing if there isn't one. */
+    public void undo() {
+        endStep();
+        if (cursor > 0) {
+            cursor--;
+            final Edit[] step = ring[(start + cursor) % ring.length];
+            replay(new Runnable() {
+                public void run() {
+                    for (int i=step.length - 1; i>=0; i--) {
+                        step[i].undo();
+                    }
+                }
+            });
+            alertIfChanged();
+        }
+    }
+
+    /** Redoes the most recently undone step. Does nothing if there isn't one. */
+    public void redo() {
+        endStep();
+        if (cursor < size) {
+            final Edit[] step = ring[(start + cursor) % ring.length];
+            cursor++;
+            replay(new Runnable() {
+                public void run() {
+                    for (Edit edit : step) {
+                        edit.redo();
+                    }
+                }
+            });
+            alertIfChanged();
+        }
+    }
+
+    /** Applies changes without recording them, recalculating once at the end. */
+    private void replay(Runnable changes) {
+        replaying = true;
+        try {
+            Propagator.getInstance().batch(changes);
+        } finally {
+            replaying = false;
+        }
+    }
+
+    /** Tells the observers if canUndo() or canRedo() is different from when they were last told. */
+    private void alertIfChanged() {
+        boolean canUndo = canUndo();
+        boolean canRedo = canRedo();
+        if (canUndo != couldUndo || canRedo != couldRedo) {
+            couldUndo = canUndo;
+            couldRedo = canRedo;
+            for (Observer observer : observers) {
+                observer.onChange();
+            }
+        }
+    }
+
+    /**
+     * Returns true if changes are being written down. Anything that has
+     * to do extra work to describe a change (like copying a list) should
+     * check this first.
+     */
+    boolean isRecording() {
+        return enabled && !replaying;
+    }
+
+    private void record(Edit edit) {
+        Object target = edit.getTarget();
+        if (target != null) {
+            Edit earlier = openStepByTarget.get(target);
+            if (earlier != null) {
+                earlier.absorb(edit);
+                return;
+            }
+            openStepByTarget.put(target, edit);
+        }
+        openStep.add(edit);
+    }
+
+    /**
+     * Called by the Propagator when a propagation completes: whatever was
+     * recorded since the last step becomes a new step.
+     */
+    void endStep() {
+        if (openStep.isEmpty()) {
+            return;
+        }
+        Edit[] step = openStep.toArray(NO_EDITS);
+        openStep.clear();
+        openStepByTarget.clear();
+        // Anything that had been undone can no longer be redone
+        for (int i=cursor; i<size; i++) {
+            ring[(start + i) % ring.length] = null;
+        }
+        size = cursor;
+        if (size == ring.length) {
+            ring[start] = null; // forget the oldest
+            start = (start + 1) % ring.length;
+            size--;
+        }
+        ring[(start + size) % ring.length] = step;
+        size++;
+        cursor = size;
+        alertIfChanged();
+    }
+
+    // ==== Called by the things that change ====
+
+    void recordChange(SettableIntValue target, int oldValue, int newValue) {
+        if (isRecording()) {
+            record(new IntEdit(target, oldValue, newValue));
+        }
+    }
+
+    void recordChange(SettableBooleanValue target, boolean newValue) {
+        if (isRecording()) {
+            record(new BooleanEdit(target, newValue));
+        }
+    }
+
+    void recordChange(SettableStringValue target, String oldValue, String newValue) {
+        if (isRecording()) {
+            record(new StringEdit(target, oldValue, newValue));
+        }
+    }
+
+    <T extends Enum<T>> void recordChange(SettableEnumValue<T> target, T oldValue, T newValue) {
+        if (isRecording()) {
+            record(new EnumEdit<T>(target, oldValue, newValue));
+        }
+    }
+
+    void recordAdjustments(TweakableIntValue target, Integer oldOverride, Integer oldModifier,
+                           Integer newOverride, Integer newModifier)
+    {
+        if (isRecording()) {
+            record(new AdjustmentsEdit(target, oldOverride, oldModifier, newOverride, newModifier));
+        }
+    }
+
+    <T> void recordAdd(ObservableList<T> list, int index, T item) {
+        if (isRecording()) {
+            record(new ListEdit<T>(list, index, item, true));
+        }
+    }
+
+    <T> void recordRemove(ObservableList<T> list, int index, T item) {
+        if (isRecording()) {
+            record(new ListEdit<T>(list, index, item, false));
+        }
+    }
+
+    <T> void recordClear(ObservableList<T> list, List<T> items) {
+        if (isRecording()) {
+            record(new ListClearEdit<T>(list, items));
+        }
+    }
+
+}
@@ -1,166 +1,320 @@
-/*
- * Copyright 2009 Michael Chermside
- *
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- *
- *   http://www.apache.org/licenses/LICENSE-2.0
- *
- *  Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- *
- */
-package com.mcherm.zithiacharsheet.client.modeler;
-
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.Iterator;
-
-import com.mcherm.zithiacharsheet.client.util.ImmutableList;
-
-
-/**
- * A CalculatedIntValue that takes a couple of specific ObservableInts and
- * applies a simple equation to determine the value.
- */
-public class EquationIntValue extends CalculatedIntValue<ObservableInt> {
-
-    public static interface Equation0 {
-        public int getValue();
-    }
-
-    public static interface Equation1 {
-        public int getValue(int x1);
-    }
-    public static interface Equation2 {
-        public int getValue(int x1, int x2);
-    }
-    public static interface Equation3 {
-        public int getValue(int x1, int x2, int x3);
-    }
-    public static interface Equation4 {
-        public int getValue(int x1, int x2, int x3, int x4);
-    }
-    public static interface Equation5 {
-        public int getValue(int x1, int x2, int x3, int x4, int x5);
-    }
-    
-    
-    public EquationIntValue(
-            final Equation0 equation)
-    {
-        super(
-            new ImmutableList<ObservableInt>(),
-            new ValueCalculator<ObservableInt>() {
-                public int calculateValue(Iterable<? extends ObservableInt> inputs) {
-                    return equation.getValue();
-                }
-            }
-        );
-    }
-
-    public EquationIntValue(
-            ObservableInt in1,
-            final Equation1 equation)
-    {
-        super(
-            Arrays.asList(in1),
-            new ValueCalculator<ObservableInt>() {
-                public int calculateValue(Iterable<? extends ObservableInt> inputs) {
-                    Iterator<? extends ObservableInt> iterator = inputs.iterator();
-                    int x1 = iterator.next().getValue();
-                    return equation.getValue(x1);
-                }
-            }
-        );
-    }
-
-    public EquationIntValue(
-            ObservableInt in1,
-            ObservableInt in2,
-            final Equation2 equation)
-    {
-        super(
-            Arrays.asList(in1, in2),
-            new ValueCalculator<ObservableInt>() {
-                public int calculateValue(Iterable<? extends ObservableInt> inputs) {
-                    Iterator<? extends ObservableInt> iterator = inputs.iterator();
-                    int x1 = iterator.next().getValue();
-                    int x2 = iterator.next().getValue();
-                    return equation.getValue(x1, x2);
-                }
-            }
-        );
-    }
-
-    public EquationIntValue(
-            ObservableInt in1,
-            ObservableInt in2,
-            ObservableInt in3,
-            final Equation3 equation)
-    {
-        super(
-            Arrays.asList(in1, in2, in3),
-            new ValueCalculator<ObservableInt>() {
-                public int calculateValue(Iterable<? extends ObservableInt> inputs) {
-                    Iterator<? extends ObservableInt> iterator = inputs.iterator();
-                    int x1 = iterator.next().getValue();
-                    int x2 = iterator.next().getValue();
-                    int x3 = iterator.next().getValue();
-                    return equation.getValue(x1, x2, x3);
-                }
-            }
-        );
-    }
-
-    public EquationIntValue(
-            ObservableInt in1,
-            ObservableInt in2,
-            ObservableInt in3,
-            ObservableInt in4,
-            final Equation4 equation)
-    {
-        super(
-            Arrays.asList(in1, in2, in3, in4),
-            new ValueCalculator<ObservableInt>() {
-                public int calculateValue(Iterable<? extends ObservableInt> inputs) {
-                    Iterator<? extends ObservableInt> iterator = inputs.iterator();
-                    int x1 = iterator.next().getValue();
-                    int x2 = iterator.next().getValue();
-                    int x3 = iterator.next().getValue();
-                    int x4 = iterator.next().getValue();
-                    return equation.getValue(x1, x2, x3, x4);
-                }
-            }
-        );
-    }
-
-    public EquationIntValue(
-            ObservableInt in1,
-            ObservableInt in2,
-            ObservableInt in3,
-            ObservableInt in4,
-            ObservableInt in5,
-            final Equation5 equation)
-    {
-        super(
-            Arrays.asList(in1, in2, in3, in4, in5),
-            new ValueCalculator<ObservableInt>() {
-                public int calculateValue(Iterable<? extends ObservableInt> inputs) {
-                    Iterator<? extends ObservableInt> iterator = inputs.iterator();
-                    int x1 = iterator.next().getValue();
-                    int x2 = iterator.next().getValue();
-                    int x3 = iterator.next().getValue();
-                    int x4 = iterator.next().getValue();
-                    int x5 = iterator.next().getValue();
-                    return equation.getValue(x1, x2, x3, x4, x5);
-                }
-            }
-        );
-    }
-
-}
+/*
+ * Copyright 2009 Michael Chermside
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.mcherm.zithiacharsheet.client.modeler;
+
+
+/**
+ * A CalculatedIntValue that takes a couple of specific ObservableInts and
+ * applies a simple equation to determine the value.
+ * <p>
+ * These are everywhere (every roll, cost and combat value is one) so
+ * they are written to be cheap: there is a separate small subclass for
+ * each number of inputs, which keeps just its own inputs and equation in
+ * fields and calls the equation directly, without creating any objects
+ * when the value is recalculated. Use the newInstance() factory methods
+ * to create them.
+ */
+public abstract class EquationIntValue extends CalculatedIntValue<ObservableInt> {
+
+    public static interface Equation0 {
+        public int getValue();
+    }
+
+    public static interface Equation1 {
+        public int getValue(int x1);
+    }
+    public static interface Equation2 {
+        public int getValue(int x1, int x2);
+    }
+    public static interface Equation3 {
+        public int getValue(int x1, int x2, int x3);
+    }
+    public static interface Equation4 {
+        public int getValue(int x1, int x2, int x3, int x4);
+    }
+    public static interface Equation5 {
+        public int getValue(int x1, int x2, int x3, int x4, int x5);
+    }
+
+    /**
+     * An equation with any number of inputs. The array passed is reused
+     * between calls, so the equation must not hang on to it.
+     */
+    public static interface EquationN {
+        public int getValue(int[] x);
+    }
+
+
+    /** Constructor for subclasses, which must observe each of their inputs. */
+    private EquationIntValue() {
+        super(isLazyByDefault());
+    }
+
+    public static EquationIntValue newInstance(
+            Equation0 equation)
+    {
+        return new Arity0(equation);
+    }
+
+    public static EquationIntValue newInstance(
+            ObservableInt in1,
+            Equation1 equation)
+    {
+        return new Arity1(in1, equation);
+    }
+
+    public static EquationIntValue newInstance(
+            ObservableInt in1,
+            ObservableInt in2,
+            Equation2 equation)
+    {
+        return new Arity2(in1, in2, equation);
+    }
+
+    public static EquationIntValue newInstance(
+            ObservableInt in1,
+            ObservableInt in2,
+            ObservableInt in3,
+            Equation3 equation)
+    {
+        return new Arity3(in1, in2, in3, equation);
+    }
+
+    public static EquationIntValue newInstance(
+            ObservableInt in1,
+            ObservableInt in2,
+            ObservableInt in3,
+            ObservableInt in4,
+            Equation4 equation)
+    {
+        return new Arity4(in1, in2, in3, in4, equation);
+    }
+
+    public static EquationIntValue newInstance(
+            ObservableInt in1,
+            ObservableInt in2,
+            ObservableInt in3,
+            ObservableInt in4,
+            ObservableInt in5,
+            Equation5 equation)
+    {
+        return new Arity5(in1, in2, in3, in4, in5, equation);
+    }
+
+    /**
+     * Creates one with any number of inputs.
+     *
+     * @param inputs the inputs. The array is copied, so later changes to
+     *   it are ignored.
+     * @param equation called with the values of the inputs (in the same
+     *   order) to calculate the value.
+     */
+    public static EquationIntValue newInstance(
+            ObservableInt[] inputs,
+            EquationN equation)
+    {
+        return new ArityN(inputs, equation);
+    }
+
+
+    static final class Arity0 extends EquationIntValue {
+        private final Equation0 equation;
+
+        Arity0(Equation0 equation) {
+            this.equation = equation;
+        }
+
+        @Override
+        Object getSiteObject() {
+            return equation;
+        }
+
+        @Override
+        protected int calculate() {
+            return equation.getValue();
+        }
+    }
+
+    static final class Arity1 extends EquationIntValue {
+        private final ObservableInt in1;
+        private final Equation1 equation;
+
+        Arity1(ObservableInt in1, Equation1 equation) {
+            this.in1 = in1;
+            this.equation = equation;
+            observeInput(in1);
+        }
+
+        @Override
+        Object getSiteObject() {
+            return equation;
+        }
+
+        @Override
+        protected int calculate() {
+            return equation.getValue(in1.getValue());
+        }
+    }
+
+    static final class Arity2 extends EquationIntValue {
+        private final ObservableInt in1;
+        private final ObservableInt in2;
+        private final Equation2 equation;
+
+        Arity2(ObservableInt in1, ObservableInt in2, Equation2 equation) {
+            this.in1 = in1;
+            this.in2 = in2;
+            this.equation = equation;
+            observeInput(in1);
+            observeInput(in2);
+        }
+
+        @Override
+        Object getSiteObject() {
+            return equation;
+        }
+
+        @Override
+        protected int calculate() {
+            return equation.getValue(in1.getValue(), in2.getValue());
+        }
+    }
+
+    static final class Arity3 extends EquationIntValue {
+        private final ObservableInt in1;
+        private final ObservableInt in2;
+        private final ObservableInt in3;
+        private final Equation3 equation;
+
+        Arity3(ObservableInt in1, ObservableInt in2, ObservableInt in3, Equation3 equation) {
+            this.in1 = in1;
+            this.in2 = in2;
+            this.in3 = in3;
+            this.equation = equation;
+            observeInput(in1);
+            observeInput(in2);
+            observeInput(in3);
+        }
+
+        @Override
+        Object getSiteObject() {
+            return equation;
+        }
+
+        @Override
+        protected int calculate() {
+            return equation.getValue(in1.getValue(), in2.getValue(), in3.getValue());
+        }
+    }
+
+    static final class Arity4 extends EquationIntValue {
+        private final ObservableInt in1;
+        private final ObservableInt in2;
+        private final ObservableInt in3;
+        private final ObservableInt in4;
+        private final Equation4 equation;
+
+        Arity4(ObservableInt in1, ObservableInt in2, ObservableInt in3, ObservableInt in4, Equation4 equation) {
+            this.in1 = in1;
+            this.in2 = in2;
+            this.in3 = in3;
+            this.in4 = in4;
+            this.equation = equation;
+            observeInput(in1);
+            observeInput(in2);
+            observeInput(in3);
+            observeInput(in4);
+        }
+
+        @Override
+        Object getSiteObject() {
+            return equation;
+        }
+
+        @Override
+        protected int calculate() {
+            return equation.getValue(in1.getValue(), in2.getValue(), in3.getValue(), in4.getValue());
+        }
+    }
+
+    static final class Arity5 extends EquationIntValue {
+        private final ObservableInt in1;
+        private final ObservableInt in2;
+        private final ObservableInt in3;
+        private final ObservableInt in4;
+        private final ObservableInt in5;
+        private final Equation5 equation;
+
+        Arity5(ObservableInt in1, ObservableInt in2, ObservableInt in3, ObservableInt in4, ObservableInt in5,
+               Equation5 equation)
+        {
+            this.in1 = in1;
+            this.in2 = in2;
+            this.in3 = in3;
+            this.in4 = in4;
+            this.in5 = in5;
+            this.equation = equation;
+            observeInput(in1);
+            observeInput(in2);
+            observeInput(in3);
+            observeInput(in4);
+            observeInput(in5);
+        }
+
+        @Override
+        Object getSiteObject() {
+            return equation;
+        }
+
+        @Override
+        protected int calculate() {
+            return equation.getValue(in1.getValue(), in2.getValue(), in3.getValue(), in4.getValue(), in5.getValue());
+        }
+    }
+
+    static final class ArityN extends EquationIntValue {
+        private final ObservableInt[] inputs;
+        private final int[] inputValues;
+        private final EquationN equation;
+
+        ArityN(ObservableInt[] inputs, EquationN equation) {
+            this.inputs = new ObservableInt[inputs.length];
+            for (int i=0; i<inputs.length; i++) {
+                this.inputs[i] = inputs[i];
+            }
+            this.inputValues = new int[inputs.length];
+            this.equation = equation;
+            for (ObservableInt input : this.inputs) {
+                observeInput(input);
+            }
+        }
+
+        @Override
+        Object getSiteObject() {
+            return equation;
+        }
+
+        @Override
+        protected int calculate() {
+            for (int i=0; i<inputs.length; i++) {
+                inputValues[i] = inputs[i].getValue();
+            }
+            return equation.getValue(inputValues);
+        }
+    }
+
+}
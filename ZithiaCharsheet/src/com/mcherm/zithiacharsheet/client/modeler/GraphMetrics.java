@@ -0,0 +1,214 @@
+/*
+ * Copyright 2009 Michael Chermside
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.mcherm.zithiacharsheet.client.modeler;
+
+import java.util.HashMap;
+import java.util.Map;
+
+
+/**
+ * Optional instrumentation for the modeler. When enabled, the Propagator
+ * reports to this every recomputation (and how long it took) and every
+ * alert (and how many observers it reached), and this keeps the totals
+ * for each node. It is disabled by default, and when disabled it costs
+ * a single boolean check per recomputation.
+ * <p>
+ * A few things are always available whether or not this is enabled:
+ * the depth (rank) of a node, the number of observers it has, and the
+ * total number of observations that have been registered through a
+ * Disposer and not yet disposed.
+ * <p>
+ * The counts are kept by node id, not by the node itself, so collecting
+ * them never keeps a node from being garbage collected. (The counts for
+ * a node that is gone stay until reset().)
+ * <p>
+ * See DependencyGraph for a way to look at all of the nodes at once.
+ * <p>
+ * NOTE: Not threadsafe.
+ */
+public final class GraphMetrics {
+
+    /** Source of the time used to measure recomputation. */
+    public static interface Clock {
+        /** Returns the current time in milliseconds. */
+        public double now();
+    }
+
+    /** The counts kept for a single node. */
+    public static class NodeStats {
+        private int recomputeCount = 0;
+        private double recomputeTime = 0;
+        private int alertCount = 0;
+        private int fanOut = 0;
+
+        /** Number of times the node was recomputed. */
+        public int getRecomputeCount() {
+            return recomputeCount;
+        }
+
+        /** Total time (in milliseconds) spent recomputing the node. */
+        public double getRecomputeTime() {
+            return recomputeTime;
+        }
+
+        /** Number of times the node alerted its observers. */
+        public int getAlertCount() {
+            return alertCount;
+        }
+
+        /** Total number of observers reached by all of those alerts. */
+        public int getFanOut() {
+            return fanOut;
+        }
+    }
+
+    private static final Clock defaultClock = new Clock() {
+        public double now() {
+            return System.currentTimeMillis();
+        }
+    };
+
+    private static final GraphMetrics instance = new GraphMetrics();
+
+    /** Returns the GraphMetrics. */
+    public static GraphMetrics getInstance() {
+        return instance;
+    }
+
+    private boolean enabled;
+    private Clock clock;
+    /** The counts for each node, by SimpleObservable.getId(). */
+    private final Map<Integer,NodeStats> statsByNode;
+    private int liveObservations;
+
+
+    /** Constructor is private: use getInstance(). */
+    private GraphMetrics() {
+        enabled = false;
+        clock = defaultClock;
+        statsByNode = new HashMap<Integer,NodeStats>();
+        liveObservations = 0;
+    }
+
+
+    /** Turns collection of the per-node counts on or off. */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets the clock used for timing. The default uses
+     * System.currentTimeMillis(), which is not very precise; code
+     * that has a better timer available can supply it here.
+     */
+    public void setClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    Clock getClock() {
+        return clock;
+    }
+
+    /** Discards all of the per-node counts collected so far. */
+    public void reset() {
+        statsByNode.clear();
+    }
+
+    /**
+     * Returns the counts for a node, or null if nothing has been recorded
+     * for it since the last reset().
+     */
+    public NodeStats getStats(Observable node) {
+        if (node instanceof SimpleObservable) {
+            return statsByNode.get(((SimpleObservable) node).getId());
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the depth of a node in the dependency graph: 0 for things
+     * that are simply set, otherwise more than the depth of every input.
+     * Returns -1 if it can't be determined.
+     */
+    public int getDepth(Observable node) {
+        if (node instanceof SimpleObservable) {
+            return ((SimpleObservable) node).getRank();
+        } else {
+            return -1;
+        }
+    }
+
+    /**
+     * Returns the number of observers a node currently has, or -1 if
+     * it can't be determined.
+     */
+    public int getObserverCount(Observable node) {
+        if (node instanceof SimpleObservable) {
+            return ((SimpleObservable) node).getObserverCount();
+        } else {
+            return -1;
+        }
+    }
+
+    /**
+     * Returns the number of observers added through Disposer.observe()
+     * which have not yet been disposed. If this keeps growing then
+     * something isn't getting disposed.
+     */
+    public int getLiveObservations() {
+        return liveObservations;
+    }
+
+    private NodeStats statsFor(SimpleObservable node) {
+        NodeStats result = statsByNode.get(node.getId());
+        if (result == null) {
+            result = new NodeStats();
+            statsByNode.put(node.getId(), result);
+        }
+        return result;
+    }
+
+    /** Called by the Propagator (only when enabled) after it recomputes a node. */
+    void recordRecompute(DependentObservable node, double elapsed) {
+        NodeStats stats = statsFor(node);
+        stats.recomputeCount++;
+        stats.recomputeTime += elapsed;
+    }
+
+    /** Called by the Propagator (only when enabled) when a node alerts. */
+    void recordAlert(SimpleObservable node, int observersReached) {
+        NodeStats stats = statsFor(node);
+        stats.alertCount++;
+        stats.fanOut += observersReached;
+    }
+
+    /** Called by the Disposer when it adds an observer. */
+    void recordObservationAdded() {
+        liveObservations++;
+    }
+
+    /** Called by the Disposer when it removes an observer. */
+    void recordObservationRemoved() {
+        liveObservations--;
+    }
+
+}
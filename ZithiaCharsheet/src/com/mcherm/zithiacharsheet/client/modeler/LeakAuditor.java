@@ -0,0 +1,301 @@
+/*
+ * Copyright 2009 Michael Chermside
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.mcherm.zithiacharsheet.client.modeler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.mcherm.zithiacharsheet.client.modeler.Observable.Observer;
+
+
+/**
+ * A tool for finding observers that never get removed. When enabled,
+ * it keeps track of every observer added to a SimpleObservable (and
+ * whether it was added through Disposer.observe(), which means it
+ * ought to be removed when something is disposed) until it is removed
+ * again.
+ * <p>
+ * Observers are grouped by "site", which is the class of the observer
+ * and the class of the thing it observes. Since observers are almost
+ * always anonymous classes, that pins down the line of code where they
+ * were created.
+ * <p>
+ * Time is divided into "epochs": call mark() each time the user does
+ * something that should leave the number of observers about where it
+ * was (like loading another character). Each observer is tagged with
+ * the epoch in which it was added. A site where observers from each
+ * epoch pile up and never go away is a leak.
+ * <p>
+ * NOTE: Not threadsafe. Disabled by default; when disabled it costs a
+ *   boolean check per addObserver() and removeObserver().
+ */
+public final class LeakAuditor {
+
+    private static final LeakAuditor instance = new LeakAuditor();
+
+    /** Returns the LeakAuditor. */
+    public static LeakAuditor getInstance() {
+        return instance;
+    }
+
+    /** Identifies one observer on one observable. */
+    private static class Key {
+        private final Observable observable;
+        private final Observer observer;
+
+        private Key(Observable observable, Observer observer) {
+            this.observable = observable;
+            this.observer = observer;
+        }
+
+        public boolean equals(Object other) {
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key otherKey = (Key) other;
+            return observable == otherKey.observable && observer == otherKey.observer;
+        }
+
+        public int hashCode() {
+            return 31 * System.identityHashCode(observable) + System.identityHashCode(observer);
+        }
+    }
+
+    /** What we know about one observer on one observable. */
+    private static class Registration {
+        private final String site;
+        private final int epoch;
+        private int count;
+        private boolean viaDisposer;
+
+        private Registration(String site, int epoch) {
+            this.site = site;
+            this.epoch = epoch;
+            this.count = 0;
+            this.viaDisposer = false;
+        }
+    }
+
+    /** The live observers from one site. */
+    public static class SiteReport {
+        private final String site;
+        private final Map<Integer,Integer> countByEpoch;
+        private int total;
+        private int notViaDisposer;
+
+        private SiteReport(String site) {
+            this.site = site;
+            this.countByEpoch = new TreeMap<Integer,Integer>();
+            this.total = 0;
+            this.notViaDisposer = 0;
+        }
+
+        private void add(Registration registration) {
+            Integer epoch = Integer.valueOf(registration.epoch);
+            Integer oldCount = countByEpoch.get(epoch);
+            int newCount = (oldCount == null ? 0 : oldCount.intValue()) + registration.count;
+            countByEpoch.put(epoch, Integer.valueOf(newCount));
+            total += registration.count;
+            if (!registration.viaDisposer) {
+                notViaDisposer += registration.count;
+            }
+        }
+
+        /** The site: "(observer class) observing (observable class)". */
+        public String getSite() {
+            return site;
+        }
+
+        /** The number of live observers from this site. */
+        public int getTotal() {
+            return total;
+        }
+
+        /** The number of live observers from this site added in each epoch. */
+        public Map<Integer,Integer> getCountByEpoch() {
+            return countByEpoch;
+        }
+
+        /**
+         * The number of live observers from this site which were not added
+         * through a Disposer, so nothing will ever remove them.
+         */
+        public int getNotViaDisposer() {
+            return notViaDisposer;
+        }
+
+        public String toString() {
+            return site + ": " + total + " by epoch " + countByEpoch +
+                (notViaDisposer > 0 ? " (" + notViaDisposer + " not via Disposer)" : "");
+        }
+    }
+
+
+    private boolean enabled;
+    private int epoch;
+    private final Map<Key,Registration> registrations;
+
+
+    /** Constructor is private: use getInstance(). */
+    private LeakAuditor() {
+        enabled = false;
+        epoch = 0;
+        registrations = new HashMap<Key,Registration>();
+    }
+
+    /**
+     * Turns auditing on or off. Observers that were added while it was
+     * off are not known about, so it's best to turn it on at startup.
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) {
+            registrations.clear();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Starts a new epoch. */
+    public void mark() {
+        epoch++;
+    }
+
+    /** Returns the current epoch; the first one is 0. */
+    public int getEpoch() {
+        return epoch;
+    }
+
+    /** Returns the number of live observers being tracked. */
+    public int getLiveCount() {
+        int result = 0;
+        for (Registration registration : registrations.values()) {
+            result += registration.count;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the live observers grouped by site, with the sites that have
+     * the most observers first.
+     */
+    public List<SiteReport> getReport() {
+        Map<String,SiteReport> reportsBySite = new HashMap<String,SiteReport>();
+        for (Registration registration : registrations.values()) {
+            SiteReport siteReport = reportsBySite.get(registration.site);
+            if (siteReport == null) {
+                siteReport = new SiteReport(registration.site);
+                reportsBySite.put(registration.site, siteReport);
+            }
+            siteReport.add(registration);
+        }
+        List<SiteReport> result = new ArrayList<SiteReport>(reportsBySite.values());
+        Collections.sort(result, new Comparator<SiteReport>() {
+            public int compare(SiteReport x, SiteReport y) {
+                return y.total - x.total;
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Returns the sites which have live observers added in every epoch
+     * from firstEpoch through lastEpoch, which is what a leak usually
+     * looks like.
+     */
+    public List<SiteReport> getSuspects(int firstEpoch, int lastEpoch) {
+        List<SiteReport> result = new ArrayList<SiteReport>();
+        for (SiteReport siteReport : getReport()) {
+            boolean inEveryEpoch = true;
+            for (int i=firstEpoch; i<=lastEpoch; i++) {
+                if (!siteReport.countByEpoch.containsKey(Integer.valueOf(i))) {
+                    inEveryEpoch = false;
+                    break;
+                }
+            }
+            if (inEveryEpoch) {
+                result.add(siteReport);
+            }
+        }
+        return result;
+    }
+
+    /** Returns getReport() as readable text, one site per line. */
+    public String getReportText() {
+        StringBuilder result = new StringBuilder();
+        result.append("Epoch ").append(epoch).append(", ").append(getLiveCount()).append(" live observers\n");
+        for (SiteReport siteReport : getReport()) {
+            result.append(siteReport).append("\n");
+        }
+        return result.toString();
+    }
+
+    /** Called by SimpleObservable (only when enabled) when an observer is added. */
+    void recordAdd(Observable observable, Observer observer) {
+        Key key = new Key(observable, observer);
+        Registration registration = registrations.get(key);
+        if (registration == null) {
+            String site = siteName(observer) + " observing " + siteName(observable);
+            registration = new Registration(site, epoch);
+            registrations.put(key, registration);
+        }
+        registration.count++;
+    }
+
+    /**
+     * Returns the name used to identify where something was created: the
+     * class name, or for calculated values the class of their formula.
+     */
+    private static String siteName(Object x) {
+        if (x instanceof DependentObservable) {
+            return ((DependentObservable) x).getSiteObject().getClass().getName();
+        } else {
+            return x.getClass().getName();
+        }
+    }
+
+    /** Called by SimpleObservable (only when enabled) when an observer is removed. */
+    void recordRemove(Observable observable, Observer observer) {
+        Key key = new Key(observable, observer);
+        Registration registration = registrations.get(key);
+        if (registration != null) {
+            registration.count--;
+            if (registration.count == 0) {
+                registrations.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Called by the Disposer (only when enabled) after it adds an
+     * observer, so we know that one is supposed to get cleaned up.
+     */
+    void recordViaDisposer(Observable observable, Observer observer) {
+        Registration registration = registrations.get(new Key(observable, observer));
+        if (registration != null) {
+            registration.viaDisposer = true;
+        }
+    }
+
+}
@@ -0,0 +1,246 @@
+/*
+ * Copyright 2009 Michael Chermside
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.mcherm.zithiacharsheet.client.modeler;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.mcherm.zithiacharsheet.client.modeler.Observable.Observer;
+
+
+/**
+ * This is the engine that delivers changes through the graph of
+ * observables. When a SimpleObservable alerts its observers, the ones
+ * which are DependentObservables are marked dirty and queued by rank;
+ * all other observers (widgets and the like) are queued as "effects".
+ * Then the queue is drained: the dirty node with the lowest rank is
+ * recomputed first, so by the time any node is recomputed all of its
+ * inputs already hold their final values. Each dirty node is recomputed
+ * exactly once, and the effects run only after every node has settled,
+ * so nobody ever sees an inconsistent intermediate value.
+ * <p>
+ * For a diamond such as totalCost -> expSpent -> expUnspent (where
+ * expUnspent also reads paidForLoan), a change to totalCost causes
+ * expUnspent to be recomputed once rather than once per path.
+ * <p>
+ * If an effect changes a value (as the race change observer does to
+ * the stats), the resulting nodes are simply added to the queue and
+ * handled in the same pass.
+ * <p>
+ * Code that is about to make a lot of changes at once (like loading a
+ * character) should make them inside batch(). Within a batch, changes
+ * only queue things up; the queue is drained once when the batch ends.
+ * <p>
+ * NOTE: Not threadsafe. There is a single instance, which is fine for
+ *   the browser.
+ */
+public final class Propagator {
+
+    private static final Propagator instance = new Propagator();
+
+    /** Returns the Propagator. */
+    public static Propagator getInstance() {
+        return instance;
+    }
+
+    private final GraphMetrics metrics = GraphMetrics.getInstance();
+    private final EditJournal journal = EditJournal.getInstance();
+    /** Dirty nodes, bucketed by rank. */
+    private final List<List<DependentObservable>> pendingByRank;
+    /** Lowest rank that might have a pending node. */
+    private int lowestPendingRank;
+    /** Number of nodes in pendingByRank. */
+    private int pendingCount;
+    /** Observers which are not nodes, in the order they were first alerted. */
+    private final List<Observer> effects;
+    /** The same observers as in effects that have not yet been run; used to avoid duplicates. */
+    private final Set<Observer> pendingEffects;
+    /** Index of the next item in effects to run. */
+    private int nextEffect;
+    /** True while the queue is being drained. */
+    private boolean propagating;
+    /** How many calls to batch() we are currently inside of. */
+    private int batchDepth;
+
+
+    /** Constructor is private: use getInstance(). */
+    private Propagator() {
+        pendingByRank = new ArrayList<List<DependentObservable>>();
+        lowestPendingRank = 0;
+        pendingCount = 0;
+        effects = new ArrayList<Observer>();
+        pendingEffects = new HashSet<Observer>();
+        nextEffect = 0;
+        propagating = false;
+        batchDepth = 0;
+    }
+
+
+    /**
+     * Runs the changes, holding back all recalculation and all
+     * notification until they are complete. Then everything that was
+     * affected gets recomputed (once) and every observer gets told (once).
+     * Batches may be nested; only the outermost one drains the queue.
+     * <p>
+     * Calculated values are NOT brought up to date inside the batch, so
+     * code running inside should not depend on reading them.
+     */
+    public void batch(Runnable changes) {
+        batchDepth++;
+        try {
+            changes.run();
+        } finally {
+            batchDepth--;
+            if (batchDepth == 0 && !propagating) {
+                propagate();
+            }
+        }
+    }
+
+
+    /**
+     * Returns true if every calculated value is up to date: we are not in
+     * a batch and no nodes are waiting to be recomputed. (Observers being
+     * told about changes is fine: by then all the values have settled.)
+     */
+    public boolean isSettled() {
+        return batchDepth == 0 && pendingCount == 0;
+    }
+
+
+    /**
+     * Called by a SimpleObservable that has changed. Every observer of
+     * that observable will be queued, then (unless a propagation or a
+     * batch is already under way) the queue is drained before this returns.
+     */
+    void alert(SimpleObservable source) {
+        if (metrics.isEnabled()) {
+            metrics.recordAlert(source, source.getObserverCount());
+        }
+        for (Observer observer : source.getObservers()) {
+            if (observer instanceof DependentObservable) {
+                enqueue((DependentObservable) observer);
+            } else if (pendingEffects.add(observer)) {
+                effects.add(observer);
+            }
+        }
+        if (!propagating && batchDepth == 0) {
+            propagate();
+        }
+    }
+
+    /**
+     * Marks a node as dirty. It will be recomputed once all nodes of
+     * lower rank have been recomputed. Scheduling a node that is
+     * already queued does nothing.
+     */
+    void schedule(DependentObservable node) {
+        enqueue(node);
+        if (!propagating && batchDepth == 0) {
+            propagate();
+        }
+    }
+
+    /** Adds a node to the queue (if it isn't already there) without draining the queue. */
+    private void enqueue(DependentObservable node) {
+        if (node.scheduled) {
+            return;
+        }
+        node.scheduled = true;
+        final int rank = node.getRank();
+        while (pendingByRank.size() <= rank) {
+            pendingByRank.add(new ArrayList<DependentObservable>());
+        }
+        pendingByRank.get(rank).add(node);
+        pendingCount++;
+        if (rank < lowestPendingRank) {
+            lowestPendingRank = rank;
+        }
+    }
+
+    /**
+     * Removes and returns the pending node of lowest rank, or returns
+     * null if no nodes are pending.
+     */
+    private DependentObservable nextPendingNode() {
+        if (pendingCount == 0) {
+            return null;
+        }
+        while (true) {
+            List<DependentObservable> bucket = pendingByRank.get(lowestPendingRank);
+            if (!bucket.isEmpty()) {
+                pendingCount--;
+                return bucket.remove(bucket.size() - 1);
+            }
+            lowestPendingRank++;
+        }
+    }
+
+    /**
+     * Drains the queue: all dirty nodes in rank order, then the effects.
+     * Anything queued along the way is handled in the same loop.
+     */
+    private void propagate() {
+        propagating = true;
+        boolean completed = false;
+        try {
+            while (true) {
+                DependentObservable node = nextPendingNode();
+                if (node != null) {
+                    node.scheduled = false;
+                    if (metrics.isEnabled()) {
+                        double start = metrics.getClock().now();
+                        node.recompute();
+                        metrics.recordRecompute(node, metrics.getClock().now() - start);
+                    } else {
+                        node.recompute();
+                    }
+                } else if (nextEffect < effects.size()) {
+                    Observer effect = effects.get(nextEffect);
+                    nextEffect++;
+                    pendingEffects.remove(effect);
+                    effect.onChange();
+                } else {
+                    break;
+                }
+            }
+            completed = true;
+        } finally {
+            if (!completed) {
+                // Something threw; drop whatever was left so the next change starts clean.
+                for (List<DependentObservable> bucket : pendingByRank) {
+                    for (DependentObservable node : bucket) {
+                        node.scheduled = false;
+                    }
+                    bucket.clear();
+                }
+                pendingCount = 0;
+                pendingEffects.clear();
+            }
+            effects.clear();
+            nextEffect = 0;
+            lowestPendingRank = 0;
+            propagating = false;
+        }
+        if (journal.isEnabled()) {
+            journal.endStep(); // whatever was changed during this propagation is one step
+        }
+    }
+
+}
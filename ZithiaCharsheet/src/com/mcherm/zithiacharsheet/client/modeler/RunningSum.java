@@ -0,0 +1,132 @@
+/*
+ * Copyright 2009 Michael Chermside
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.mcherm.zithiacharsheet.client.modeler;
+
+import java.util.HashMap;
+import java.util.Map;
+
+
+/**
+ * This keeps a running total of a changing collection of ObservableInts.
+ * Instead of adding everything up each time it is read, it remembers
+ * the last value of each input, and when an input changes it just adds
+ * the difference to the total. Adding or removing an input adjusts the
+ * total directly. So reading the total is O(1) and a change costs O(1)
+ * no matter how many inputs there are.
+ * <p>
+ * Whenever an input changes, the owner is alerted (the owner observes
+ * each input's Term, so it is always of higher rank and gets recomputed
+ * after the total is up to date). Adding and removing inputs does NOT
+ * alert the owner; the caller is expected to handle that.
+ * <p>
+ * The same input may be added more than once; it is then counted more
+ * than once.
+ */
+class RunningSum {
+
+    private final DependentObservable owner;
+    private final Map<ObservableInt,Term> terms;
+    private int total;
+
+    /**
+     * Tracks one input.
+     */
+    private class Term extends DependentObservable {
+        private final ObservableInt input;
+        private int count;
+        private int lastValue;
+
+        private Term(ObservableInt input) {
+            this.input = input;
+            this.count = 0;
+            this.lastValue = input.getValue();
+            input.addObserver(this);
+            this.addObserver(owner);
+        }
+
+        protected void recompute() {
+            if (count == 0) {
+                return; // removed after it was scheduled
+            }
+            int newValue = input.getValue();
+            if (newValue != lastValue) {
+                total += (newValue - lastValue) * count;
+                lastValue = newValue;
+                alertObservers();
+            }
+        }
+
+        private void detach() {
+            count = 0;
+            input.removeObserver(this);
+            this.removeObserver(owner);
+        }
+    }
+
+
+    /**
+     * Constructor.
+     *
+     * @param owner the thing that should be alerted when the total changes
+     *   because one of the inputs changed.
+     */
+    RunningSum(DependentObservable owner) {
+        this.owner = owner;
+        this.terms = new HashMap<ObservableInt,Term>();
+        this.total = 0;
+    }
+
+    /** Returns the sum of the inputs. */
+    int getTotal() {
+        return total;
+    }
+
+    /** Adds an input. */
+    void add(ObservableInt input) {
+        Term term = terms.get(input);
+        if (term == null) {
+            term = new Term(input);
+            terms.put(input, term);
+        }
+        term.count++;
+        total += term.lastValue;
+    }
+
+    /** Removes (one occurrence of) an input. Does nothing if it isn't present. */
+    void remove(ObservableInt input) {
+        Term term = terms.get(input);
+        if (term != null) {
+            total -= term.lastValue;
+            if (term.count == 1) {
+                terms.remove(input);
+                term.detach();
+            } else {
+                term.count--;
+            }
+        }
+    }
+
+    /** Removes all inputs. */
+    void clear() {
+        for (Term term : terms.values()) {
+            term.detach();
+        }
+        terms.clear();
+        total = 0;
+    }
+
+}
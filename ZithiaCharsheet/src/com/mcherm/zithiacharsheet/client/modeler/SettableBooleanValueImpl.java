@@ -1,38 +1,41 @@
-/*
- * Copyright 2009 Michael Chermside
- *
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- *
- *   http://www.apache.org/licenses/LICENSE-2.0
- *
- *  Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- *
- */
-package com.mcherm.zithiacharsheet.client.modeler;
-
-/**
- * A value which can be set and depended on; it stores a single boolean value.
- */
-public class SettableBooleanValueImpl extends SimpleObservable implements SettableBooleanValue {
-
-    private boolean value;
-    
-    public SettableBooleanValueImpl(boolean initialValue) {
-        this.value = initialValue;
-    }
-    
-    public boolean getValue() {
-        return value;
-    }
-    
-    public void setValue(boolean value) {
-        this.value = value;
-        alertObservers();
-    }
-}
+/*
+ * Copyright 2009 Michael Chermside
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.mcherm.zithiacharsheet.client.modeler;
+
+/**
+ * A value which can be set and depended on; it stores a single boolean value.
+ */
+public class SettableBooleanValueImpl extends SimpleObservable implements SettableBooleanValue {
+
+    private boolean value;
+    
+    public SettableBooleanValueImpl(boolean initialValue) {
+        this.value = initialValue;
+    }
+    
+    public boolean getValue() {
+        return value;
+    }
+    
+    public void setValue(boolean value) {
+        if (this.value != value) {
+            EditJournal.getInstance().recordChange(this, value);
+            this.value = value;
+            alertObservers();
+        }
+    }
+}
@@ -1,40 +1,43 @@
-/*
- * Copyright 2009 Michael Chermside
- *
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- *
- *   http://www.apache.org/licenses/LICENSE-2.0
- *
- *  Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- *
- */
-package com.mcherm.zithiacharsheet.client.modeler;
-
-
-/**
- * A value which can be set and depended on; it stores a single String value.
- */
-public class SettableStringValueImpl extends SimpleObservable implements SettableStringValue {
-
-    private String value;
-    
-    public SettableStringValueImpl(String initialValue) {
-        this.value = initialValue;
-    }
-    
-    public String getValue() {
-        return value;
-    }
-    
-    public void setValue(String value) {
-        this.value = value;
-        alertObservers();
-    }
-
-}
+/*
+ * Copyright 2009 Michael Chermside
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.mcherm.zithiacharsheet.client.modeler;
+
+
+/**
+ * A value which can be set and depended on; it stores a single String value.
+ */
+public class SettableStringValueImpl extends SimpleObservable implements SettableStringValue {
+
+    private String value;
+    
+    public SettableStringValueImpl(String initialValue) {
+        this.value = initialValue;
+    }
+    
+    public String getValue() {
+        return value;
+    }
+    
+    public void setValue(String value) {
+        if (this.value == null ? value != null : !this.value.equals(value)) {
+            EditJournal.getInstance().recordChange(this, this.value, value);
+            this.value = value;
+            alertObservers();
+        }
+    }
+
+}
@@ -1,48 +1,117 @@
-/*
- * Copyright 2009 Michael Chermside
- *
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- *
- *   http://www.apache.org/licenses/LICENSE-2.0
- *
- *  Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- *
- */
-package com.mcherm.zithiacharsheet.client.modeler;
-
-import com.mcherm.zithiacharsheet.client.util.ImmutableList;
-
-
-/**
- * This can be used to implement the Observable interface.
- */
-public class SimpleObservable implements Observable {
-
-    private ImmutableList<Observer> observers = new ImmutableList<Observer>();
-    
-    public void addObserver(Observer observer) {
-        observers = observers.add(observer);
-    }
-    
-    public void removeObserver(Observer observer) {
-        observers = observers.remove(observer);
-    }
-
-    /**
-     * Subclasses call this when they're ready to alert observers of a change.
-     */
-    protected void alertObservers() {
-        // FIXME: Possible bug: new observers get added during the iteration. We should probably save the modifications until AFTER the iteration.
-        ImmutableList<Observer> currentObservers = observers;
-        for (Observer observer : currentObservers) {
-            observer.onChange();
-        }
-    }
-
-}
+/*
+ * Copyright 2009 Michael Chermside
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.mcherm.zithiacharsheet.client.modeler;
+
+import com.mcherm.zithiacharsheet.client.util.CopyOnWriteArray;
+
+
+/**
+ * This can be used to implement the Observable interface.
+ * <p>
+ * Each SimpleObservable has a rank, which is its depth in the dependency
+ * graph. Values that are simply set have rank 0. Whenever a
+ * DependentObservable starts observing this, its rank is raised (if
+ * needed) to be greater than this one's. The Propagator uses the rank to
+ * recompute things in the right order.
+ */
+public class SimpleObservable implements Observable {
+
+    private static final LeakAuditor leakAuditor = LeakAuditor.getInstance();
+    private static int nextId = 0;
+
+    /** Identifies this to GraphMetrics, so it doesn't have to hold on to this. */
+    private final int id = nextId++;
+    private final CopyOnWriteArray<Observer> observers = new CopyOnWriteArray<Observer>();
+    private int rank = 0;
+    /** The disposal scope this was created in, or null. See Disposer. */
+    private final Disposer owner = Disposer.getCurrentScope();
+    
+    public void addObserver(Observer observer) {
+        observers.add(observer);
+        if (leakAuditor.isEnabled()) {
+            leakAuditor.recordAdd(this, observer);
+        }
+        if (observer instanceof DependentObservable) {
+            ((DependentObservable) observer).raiseRank(rank + 1);
+        }
+    }
+    
+    public void removeObserver(Observer observer) {
+        if (observers.remove(observer) && leakAuditor.isEnabled()) {
+            leakAuditor.recordRemove(this, observer);
+        }
+    }
+
+    /**
+     * Returns the current observers; used by the Propagator. Observers
+     * added or removed while this is being iterated won't affect the
+     * iteration.
+     */
+    Iterable<Observer> getObservers() {
+        return observers;
+    }
+
+    /** Returns a number that is different for every SimpleObservable. */
+    int getId() {
+        return id;
+    }
+
+    /** Returns the disposal scope this was created in, or null if none. */
+    Disposer getOwner() {
+        return owner;
+    }
+
+    /** Returns the number of observers. */
+    int getObserverCount() {
+        return observers.size();
+    }
+
+    /**
+     * Returns the rank of this in the dependency graph: 0 for things
+     * that depend on nothing, otherwise greater than the rank of anything
+     * it observes.
+     */
+    int getRank() {
+        return rank;
+    }
+
+    /**
+     * Makes sure the rank is at least minRank. If the rank has to go up,
+     * then any DependentObservables observing this are pushed up too.
+     */
+    void raiseRank(int minRank) {
+        if (rank < minRank) {
+            rank = minRank;
+            for (Observer observer : observers) {
+                if (observer instanceof DependentObservable) {
+                    ((DependentObservable) observer).raiseRank(minRank + 1);
+                }
+            }
+        }
+    }
+
+    /**
+     * Subclasses call this when they're ready to alert observers of a change.
+     * The observers are handed to the Propagator, which makes sure that
+     * calculated values are updated in dependency order before anything
+     * else is told about the change.
+     */
+    protected void alertObservers() {
+        Propagator.getInstance().alert(this);
+    }
+
+}
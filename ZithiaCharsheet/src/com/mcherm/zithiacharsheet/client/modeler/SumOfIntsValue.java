@@ -1,42 +1,63 @@
-/*
- * Copyright 2009 Michael Chermside
- *
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- *
- *   http://www.apache.org/licenses/LICENSE-2.0
- *
- *  Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- *
- */
-package com.mcherm.zithiacharsheet.client.modeler;
-
-
-/**
- * A CalculatedIntValue which just adds up some ObservableInt values. The set
- * of values to add must not change.
- */
-public class SumOfIntsValue extends CalculatedIntValue<ObservableInt> {
-    
-    public static class SumValueCalculator implements ValueCalculator<ObservableInt> {
-        public int calculateValue(Iterable<? extends ObservableInt> inputs) {
-            int result = 0;
-            for (ObservableInt input : inputs) {
-                result += input.getValue();
-            }
-            return result;
-        }
-    }
-    
-    public static SumValueCalculator sumValueCalculatorInstance = new SumValueCalculator();
-
-    public SumOfIntsValue(Iterable<? extends ObservableInt> inputs) {
-        super(inputs, sumValueCalculatorInstance);
-    }
-
-}
+/*
+ * Copyright 2009 Michael Chermside
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.mcherm.zithiacharsheet.client.modeler;
+
+
+/**
+ * A CalculatedIntValue which just adds up some ObservableInt values. The set
+ * of values to add must not change.
+ * <p>
+ * The sum is kept as a running total (see RunningSum), so when one input
+ * changes only the difference is applied rather than adding them all up
+ * again.
+ */
+public class SumOfIntsValue extends CalculatedIntValue<ObservableInt> {
+    
+    public static class SumValueCalculator implements ValueCalculator<ObservableInt> {
+        public int calculateValue(Iterable<? extends ObservableInt> inputs) {
+            int result = 0;
+            for (ObservableInt input : inputs) {
+                result += input.getValue();
+            }
+            return result;
+        }
+    }
+    
+    public static SumValueCalculator sumValueCalculatorInstance = new SumValueCalculator();
+
+    private final RunningSum runningSum;
+
+    public SumOfIntsValue(Iterable<? extends ObservableInt> inputs) {
+        super(false);
+        runningSum = new RunningSum(this);
+        for (ObservableInt input : inputs) {
+            runningSum.add(input);
+        }
+    }
+
+    @Override
+    protected int calculate() {
+        return runningSum.getTotal();
+    }
+
+    @Override
+    public void dispose() {
+        runningSum.clear();
+        super.dispose();
+    }
+
+}
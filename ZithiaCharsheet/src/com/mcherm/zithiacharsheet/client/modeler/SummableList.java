@@ -1,99 +1,117 @@
-/*
- * Copyright 2009 Michael Chermside
- *
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- *
- *   http://www.apache.org/licenses/LICENSE-2.0
- *
- *  Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- *
- */
-package com.mcherm.zithiacharsheet.client.modeler;
-
-
-
-/**
- * This is a list of objects which can itself be observed
- * for changes to the list and which sums up the items in the list.
- * A function must be provided to obtain an ObservableInt from each
- * item in the list.
- * <p>
- * This alerts its observers if an item is added to the list or removed
- * from the list. The sum field alerts ITS observers if the sum changes
- * and also when the list itself alerts.
- */
-public class SummableList<T> extends ObservableList<T> implements Disposable {
-    
-    public static interface Extractor<T> {
-        public ObservableInt extractValue(T item);
-    }
-    
-    private class ObservableSum extends SimpleObservable implements ObservableInt, Observer {
-        public int getValue() {
-            int result = 0;
-            for (T item : SummableList.this) {
-                result += extractor.extractValue(item).getValue();
-            }
-            return result;
-        }
-
-        public void onChange() {
-            alertObservers(); // When a value we observe changes, notify our observers.
-        }
-    }
-    
-    private final Extractor<T> extractor;
-    private final ObservableSum observableSum;
-    
-    /**
-     * A list which which uses the indicated Extractor to get values
-     * from items, then sums them.
-     */
-    public SummableList(Extractor<T> extractor) {
-        super();
-        this.extractor = extractor;
-        observableSum = new ObservableSum();
-        this.addObserver(observableSum); // when size of list changes, alert the sum
-    }
-    
-
-    @Override
-    public void add(T item) {
-        super.add(item);
-        extractor.extractValue(item).addObserver(observableSum); // the sum observes each item's value
-    }
-    
-    @Override
-    public void remove(T item) {
-        super.remove(item);
-        extractor.extractValue(item).removeObserver(observableSum);
-    }
-    
-    @Override
-    public void clear() {
-        for (T item : this) {
-            extractor.extractValue(item).removeObserver(observableSum);
-        }
-        super.clear();
-    }
-
-    /**
-     * This obtains an ObservableInt which contains the sum of the items
-     * in the list and can be monitored to retrieve them. It returns
-     * null if there is no meaningful sum defined for this list.
-     */
-    public ObservableInt getSum() {
-        return observableSum;
-    }
-
-    public void dispose() {
-        this.removeObserver(observableSum);
-        clear();
-    }
-}
+/*
+ * Copyright 2009 Michael Chermside
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.mcherm.zithiacharsheet.client.modeler;
+
+
+
+/**
+ * This is a list of objects which can itself be observed
+ * for changes to the list and which sums up the items in the list.
+ * A function must be provided to obtain an ObservableInt from each
+ * item in the list.
+ * <p>
+ * This alerts its observers if an item is added to the list or removed
+ * from the list. The sum field alerts ITS observers if the sum changes.
+ * <p>
+ * The sum is kept as a running total (see RunningSum), so reading it
+ * is O(1) and a change to one item only costs O(1) to apply. The sum
+ * does not alert its observers unless the total actually changed.
+ */
+public class SummableList<T> extends ObservableList<T> implements Disposable {
+    
+    public static interface Extractor<T> {
+        public ObservableInt extractValue(T item);
+    }
+    
+    private class ObservableSum extends DependentObservable implements ObservableInt {
+        private final RunningSum runningSum = new RunningSum(this);
+        private int lastAlertedTotal = 0;
+
+        public int getValue() {
+            return runningSum.getTotal();
+        }
+
+        protected void recompute() {
+            // When a value we observe changes, notify our observers (but only if the sum is different).
+            if (runningSum.getTotal() != lastAlertedTotal) {
+                lastAlertedTotal = runningSum.getTotal();
+                alertObservers();
+            }
+        }
+    }
+    
+    private final Extractor<T> extractor;
+    private final ObservableSum observableSum;
+    
+    /**
+     * A list which which uses the indicated Extractor to get values
+     * from items, then sums them.
+     */
+    public SummableList(Extractor<T> extractor) {
+        super();
+        this.extractor = extractor;
+        observableSum = new ObservableSum();
+        this.addObserver(observableSum); // when contents of list change, alert the sum
+    }
+    
+
+    @Override
+    public void add(T item) {
+        observableSum.runningSum.add(extractor.extractValue(item)); // the sum tracks each item's value
+        super.add(item);
+    }
+
+    @Override
+    public void add(int index, T item) {
+        observableSum.runningSum.add(extractor.extractValue(item));
+        super.add(index, item);
+    }
+    
+    @Override
+    public void remove(T item) {
+        if (contains(item)) {
+            observableSum.runningSum.remove(extractor.extractValue(item));
+        }
+        super.remove(item);
+    }
+    
+    @Override
+    public void removeAt(int index) {
+        observableSum.runningSum.remove(extractor.extractValue(get(index)));
+        super.removeAt(index);
+    }
+
+    @Override
+    public void clear() {
+        observableSum.runningSum.clear();
+        super.clear();
+    }
+
+    /**
+     * This obtains an ObservableInt which contains the sum of the items
+     * in the list and can be monitored to retrieve them. It returns
+     * null if there is no meaningful sum defined for this list.
+     */
+    public ObservableInt getSum() {
+        return observableSum;
+    }
+
+    public void dispose() {
+        this.removeObserver(observableSum);
+        clear();
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2009 Michael Chermside
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.mcherm.zithiacharsheet.client.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Support for the compact text format used for the catalog data (such as
+ * the skills and weapons). Data comes in blocks; a block is a string of
+ * records separated by ";" and each record has fields separated by "|".
+ * The first record of every block is the format version, currently "v1".
+ * <p>
+ * The data is checked when it is written (see the main() methods of the
+ * catalogs), so parsing it only splits strings and does not do any
+ * checking beyond the version.
+ * <p>
+ * DESIGN NOTE: A block is only parsed when something needs it, and
+ * whatever parses it keeps the result, so each block is parsed at most
+ * once. Two blocks with the same text are still parsed separately: each
+ * gets its own objects.
+ */
+public class CatalogData {
+
+    public static final String FORMAT_VERSION = "v1";
+
+    /** Something that turns the records of a block into an object. */
+    public static interface Parser<T> {
+        public T parse(List<String[]> records);
+    }
+
+    /**
+     * Splits a block into records, leaving out the version record.
+     *
+     * @throws RuntimeException if the block is not in a known version of the format.
+     */
+    public static List<String[]> getRecords(String block) {
+        int end = block.indexOf(';');
+        String version = end == -1 ? block : block.substring(0, end);
+        if (!FORMAT_VERSION.equals(version)) {
+            throw new RuntimeException("Unsupported catalog data version '" + version + "'.");
+        }
+        List<String[]> result = new ArrayList<String[]>();
+        while (end != -1) {
+            int start = end + 1;
+            end = block.indexOf(';', start);
+            result.add(split(end == -1 ? block.substring(start) : block.substring(start, end)));
+        }
+        return result;
+    }
+
+    /** Splits a record into fields. */
+    private static String[] split(String record) {
+        int count = 1;
+        for (int i=0; i<record.length(); i++) {
+            if (record.charAt(i) == '|') {
+                count++;
+            }
+        }
+        String[] result = new String[count];
+        int start = 0;
+        for (int i=0; i<count; i++) {
+            int end = record.indexOf('|', start);
+            if (end == -1) {
+                end = record.length();
+            }
+            result[i] = record.substring(start, end);
+            start = end + 1;
+        }
+        return result;
+    }
+
+    /**
+     * Returns true if some record in the block has the given first field. This
+     * is much cheaper than parsing the block, so it can be used to find which
+     * block to parse.
+     */
+    public static boolean hasRecord(String block, String firstField) {
+        String target = ";" + firstField;
+        int pos = block.indexOf(target);
+        while (pos != -1) {
+            int after = pos + target.length();
+            if (after == block.length() || block.charAt(after) == '|' || block.charAt(after) == ';') {
+                return true;
+            }
+            pos = block.indexOf(target, after);
+        }
+        return false;
+    }
+
+}
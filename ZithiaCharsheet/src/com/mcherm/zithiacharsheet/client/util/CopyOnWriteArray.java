@@ -0,0 +1,324 @@
+/*
+ * Copyright 2009 Michael Chermside
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.mcherm.zithiacharsheet.client.util;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+
+/**
+ * A list backed by an array which is meant for holding things like
+ * observers: adding is O(1) (amortized), removing is O(1) (it swaps the
+ * last item into the hole, so the order is NOT preserved), and iterating
+ * is safe even if the list is modified during the iteration. Where the
+ * order matters, removeInOrder() keeps it, at the cost of shifting down
+ * the items after the one removed.
+ * <p>
+ * The iteration safety works like this: an iterator walks the array
+ * that existed when it was created. If the list is modified while any
+ * iterator is still open, the list copies the array first and modifies
+ * the copy, so the iterator keeps seeing the items as they were. When
+ * nobody is iterating, modifications are made in place.
+ * <p>
+ * Finding the item to remove is a linear search while the list is
+ * small; once it grows past INDEX_THRESHOLD items a map from item to
+ * position is kept so removal stays cheap for lists with hundreds of
+ * items. (The map is not used if the list holds the same item twice.)
+ * Items are matched with equals(), and must not be null.
+ */
+public class CopyOnWriteArray<T> implements Iterable<T> {
+
+    /** Size above which we keep an index for finding items. */
+    private static final int INDEX_THRESHOLD = 16;
+    private static final Object[] EMPTY = new Object[0];
+
+    private Object[] items;
+    private int size;
+    /** Changed each time we switch to a new array. */
+    private int generation;
+    /** Number of iterators of the current generation that haven't finished. */
+    private int openIterators;
+    /** Position of each item, or null if we aren't keeping an index. */
+    private Map<T,Integer> index;
+    /** True if the index was abandoned because some item is in the list twice. */
+    private boolean hasDuplicates;
+
+
+    /** Constructor. */
+    public CopyOnWriteArray() {
+        items = EMPTY;
+        size = 0;
+        generation = 0;
+        openIterators = 0;
+        index = null;
+        hasDuplicates = false;
+    }
+
+    /** Returns the number of items. */
+    public int size() {
+        return size;
+    }
+
+    /** Returns true if there are no items. */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Adds an item at the end of the list.
+     * @param item the item to add. Must not be null.
+     */
+    public void add(T item) {
+        prepareToModify(size + 1);
+        items[size] = item;
+        size++;
+        if (index != null) {
+            if (index.containsKey(item)) {
+                index = null;
+                hasDuplicates = true;
+            } else {
+                index.put(item, Integer.valueOf(size - 1));
+            }
+        } else if (size > INDEX_THRESHOLD && !hasDuplicates) {
+            buildIndex();
+        }
+    }
+
+    /**
+     * Removes an item from the list if it is present. The last item in
+     * the list is moved into its place.
+     * @param item the item to remove. Must not be null.
+     * @return true if the item was found and removed.
+     */
+    public boolean remove(T item) {
+        int position = indexOf(item);
+        if (position < 0) {
+            return false;
+        }
+        prepareToModify(size);
+        final int last = size - 1;
+        if (position != last) {
+            items[position] = items[last];
+            if (index != null) {
+                index.put(getItem(position), Integer.valueOf(position));
+            }
+        }
+        items[last] = null;
+        size--;
+        if (index != null) {
+            index.remove(item);
+        }
+        if (size == 0) {
+            hasDuplicates = false;
+        }
+        return true;
+    }
+
+    /**
+     * Removes an item from the list if it is present, moving the items
+     * after it down to fill the hole so the order is preserved.
+     * @param item the item to remove. Must not be null.
+     * @return true if the item was found and removed.
+     */
+    public boolean removeInOrder(T item) {
+        int position = indexOf(item);
+        if (position < 0) {
+            return false;
+        }
+        prepareToModify(size);
+        final int last = size - 1;
+        for (int i=position; i<last; i++) {
+            items[i] = items[i + 1];
+            if (index != null) {
+                index.put(getItem(i), Integer.valueOf(i));
+            }
+        }
+        items[last] = null;
+        size--;
+        if (index != null) {
+            index.remove(item);
+        }
+        if (size == 0) {
+            hasDuplicates = false;
+        }
+        return true;
+    }
+
+    /** Removes all items. */
+    public void clear() {
+        if (openIterators > 0) {
+            startNewGeneration(EMPTY);
+        } else {
+            for (int i=0; i<size; i++) {
+                items[i] = null;
+            }
+        }
+        size = 0;
+        index = null;
+        hasDuplicates = false;
+    }
+
+    /** Returns true if the item is in the list. */
+    public boolean contains(T item) {
+        return indexOf(item) >= 0;
+    }
+
+    /**
+     * Returns the item at a given position. Positions are stable only
+     * until the next removal.
+     */
+    public T get(int position) {
+        if (position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException();
+        }
+        return getItem(position);
+    }
+
+    /**
+     * Returns an iterator over the items as they are right now. Changes
+     * made to the list while iterating are not seen by the iterator.
+     */
+    public Iterator<T> iterator() {
+        return new ArrayIterator(items, size, generation, 0, 1);
+    }
+
+    /**
+     * Returns an iterator (like iterator()) but which returns the items
+     * starting with the last one.
+     */
+    public Iterator<T> reverseIterator() {
+        return new ArrayIterator(items, size, generation, size - 1, -1);
+    }
+
+    public String toString() {
+        StringBuilder result = new StringBuilder("[");
+        for (int i=0; i<size; i++) {
+            if (i > 0) {
+                result.append(", ");
+            }
+            result.append(items[i]);
+        }
+        result.append("]");
+        return result.toString();
+    }
+
+
+    @SuppressWarnings("unchecked") // the array only ever holds T's
+    private T getItem(int position) {
+        return (T) items[position];
+    }
+
+    /** Returns the position of item, or -1 if it isn't present. */
+    private int indexOf(T item) {
+        if (index != null) {
+            Integer position = index.get(item);
+            return position == null ? -1 : position.intValue();
+        }
+        for (int i=0; i<size; i++) {
+            if (item.equals(items[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Makes sure that the array can be written to and can hold
+     * neededSize items: if anyone is iterating over the current array
+     * or it is too small then this switches to a fresh copy.
+     */
+    private void prepareToModify(int neededSize) {
+        if (openIterators > 0 || neededSize > items.length) {
+            int newLength = items.length;
+            if (newLength < neededSize) {
+                newLength = Math.max(4, Math.max(neededSize, newLength * 2));
+            }
+            Object[] newItems = new Object[newLength];
+            for (int i=0; i<size; i++) {
+                newItems[i] = items[i];
+            }
+            startNewGeneration(newItems);
+        }
+    }
+
+    private void startNewGeneration(Object[] newItems) {
+        items = newItems;
+        generation++;
+        openIterators = 0;
+    }
+
+    private void buildIndex() {
+        Map<T,Integer> newIndex = new HashMap<T,Integer>();
+        for (int i=0; i<size; i++) {
+            if (newIndex.put(getItem(i), Integer.valueOf(i)) != null) {
+                hasDuplicates = true;
+                return;
+            }
+        }
+        index = newIndex;
+    }
+
+
+    /**
+     * Walks a particular array. While it is open the list won't modify
+     * that array. (An iterator which is abandoned before reaching the
+     * end just means one extra copy the next time the list changes.)
+     */
+    private class ArrayIterator implements Iterator<T> {
+        private final Object[] array;
+        private final int iteratorGeneration;
+        private int position;
+        private int remaining;
+        private final int step;
+
+        private ArrayIterator(Object[] array, int size, int iteratorGeneration, int start, int step) {
+            this.array = array;
+            this.iteratorGeneration = iteratorGeneration;
+            this.position = start;
+            this.remaining = size;
+            this.step = step;
+            if (remaining > 0) {
+                openIterators++;
+            }
+        }
+
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        @SuppressWarnings("unchecked") // the array only ever holds T's
+        public T next() {
+            if (remaining <= 0) {
+                throw new NoSuchElementException();
+            }
+            T result = (T) array[position];
+            position += step;
+            remaining--;
+            if (remaining == 0 && iteratorGeneration == generation) {
+                openIterators--;
+            }
+            return result;
+        }
+
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2009 Michael Chermside
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.mcherm.zithiacharsheet.client.util;
+
+/**
+ * Functions for working with sequences (of positions, mostly).
+ */
+public class SequenceUtil {
+
+    /**
+     * Marks the entries of one longest increasing run (not necessarily
+     * adjacent) among the entries of positions that are not -1. For
+     * each length it keeps the entry with the smallest value that ends
+     * a run of that length. If nothing was reordered every entry just
+     * extends the longest run, so there is no searching at all. Takes
+     * O(n log n) time.
+     * <p>
+     * If positions holds where each item of a list used to be, the marked
+     * items are the most that can stay put when rearranging the list to
+     * the new order; only the others need to move.
+     */
+    public static boolean[] longestIncreasing(int[] positions) {
+        int n = positions.length;
+        int[] tails = new int[n]; // index of the entry ending the best run of each length
+        int[] previous = new int[n]; // index of the entry before this one in its run
+        int length = 0;
+        for (int i=0; i<n; i++) {
+            if (positions[i] == -1) {
+                continue;
+            }
+            int low = 0;
+            int high = length;
+            if (length > 0 && positions[tails[length - 1]] < positions[i]) {
+                low = length; // the common case: it extends the longest run
+            } else {
+                while (low < high) {
+                    int mid = (low + high) >>> 1;
+                    if (positions[tails[mid]] < positions[i]) {
+                        low = mid + 1;
+                    } else {
+                        high = mid;
+                    }
+                }
+            }
+            previous[i] = low > 0 ? tails[low - 1] : -1;
+            tails[low] = i;
+            if (low == length) {
+                length++;
+            }
+        }
+        boolean[] result = new boolean[n];
+        for (int i = length > 0 ? tails[length - 1] : -1; i != -1; i = previous[i]) {
+            result[i] = true;
+        }
+        return result;
+    }
+
+}
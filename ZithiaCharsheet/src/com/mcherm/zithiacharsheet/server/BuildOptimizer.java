@@ -0,0 +1,725 @@
+/*
+ * Copyright 2009 Michael Chermside
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.mcherm.zithiacharsheet.server;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import com.mcherm.zithiacharsheet.client.model.CharacterProgram;
+import com.mcherm.zithiacharsheet.client.model.CharacterSnapshot;
+import com.mcherm.zithiacharsheet.client.model.CombatValues;
+import com.mcherm.zithiacharsheet.client.model.Race;
+import com.mcherm.zithiacharsheet.client.model.RulesTables;
+import com.mcherm.zithiacharsheet.client.model.StatValue;
+import com.mcherm.zithiacharsheet.client.model.ZithiaCharacter;
+import com.mcherm.zithiacharsheet.client.model.ZithiaCosts;
+import com.mcherm.zithiacharsheet.client.model.ZithiaSkill;
+import com.mcherm.zithiacharsheet.client.model.ZithiaStat;
+import com.mcherm.zithiacharsheet.client.model.CharacterSnapshot.Costs;
+import com.mcherm.zithiacharsheet.client.model.CharacterSnapshot.Skill;
+
+
+/**
+ * Finds the cheapest ways for a character to reach some target rolls
+ * (in skills or stats) or a target offense or defense, by raising stats
+ * and buying skill levels. It uses the same formulas as the sheet, so
+ * race modifiers, armor penalties and Str offsetting them are all
+ * accounted for. Everything else about the character stays as it is.
+ * <p>
+ * A build is affordable if the character would still have no negative
+ * unspent experience, that is if the total cost is no more than basePts
+ * plus loanPts plus expEarned less what has been paid back on the loan.
+ * <p>
+ * Only the stats are searched. Once the stats are chosen, the cheapest
+ * levels for each skill are simply the fewest that reach its target, so
+ * they are worked out directly. And only the stat values where some roll
+ * or combat value actually goes up are tried (raising a stat by one
+ * point usually changes nothing, but always costs more). The search is
+ * a branch and bound: each partial choice of stats is scored with the
+ * stats not yet chosen at the highest value the budget would allow,
+ * which can only make it look cheaper than it is, and is abandoned as
+ * soon as that score is worse than the builds already found.
+ * <p>
+ * If given an ExecutorService, the search is split up by the choice for
+ * the first few stats and the pieces run in parallel, sharing the best
+ * builds found so far. Otherwise it all runs on the calling thread. The
+ * results are the same either way.
+ * <p>
+ * The search itself ignores tweaks. Given a live character rather than
+ * a snapshot, the builds it finds are then run through a CharacterProgram
+ * compiled from the character, so the totals reported come from the full
+ * set of formulas with the character's tweaks applied.
+ * <p>
+ * NOTE: This is a library for now; nothing in the application calls it.
+ *   It needs a ZithiaCharacter or a snapshot of one, and the server never
+ *   has one: it only stores the JSON the client sends, and the JSON parser
+ *   the model uses only works in the browser. Nor can it run in the
+ *   browser, as GWT has no java.util.concurrent. App Engine doesn't allow
+ *   request handlers to start threads either, so an RPC method would use
+ *   the single-threaded constructor.
+ */
+public class BuildOptimizer {
+
+    /** Something the build must reach. */
+    public static final class Target {
+        private static enum Kind { SKILL_ROLL, STAT_ROLL, OFFENSE, DEFENSE }
+
+        private final Kind kind;
+        private final ZithiaSkill skill;
+        private final ZithiaStat stat;
+        private final int minimum;
+
+        private Target(Kind kind, ZithiaSkill skill, ZithiaStat stat, int minimum) {
+            this.kind = kind;
+            this.skill = skill;
+            this.stat = stat;
+            this.minimum = minimum;
+        }
+
+        /**
+         * A roll of at least minimum in a skill (which will be added if
+         * the character doesn't have it). The skill must have a roll.
+         */
+        public static Target skillRoll(ZithiaSkill skill, int minimum) {
+            if (!skill.hasRoll()) {
+                throw new IllegalArgumentException("Skill " + skill.getName() + " has no roll.");
+            }
+            return new Target(Kind.SKILL_ROLL, skill, skill.getStat(), minimum);
+        }
+
+        /** A roll of at least minimum in a stat. The stat must have a roll. */
+        public static Target statRoll(ZithiaStat stat, int minimum) {
+            if (!stat.hasRoll()) {
+                throw new IllegalArgumentException("Stat " + stat.getName() + " has no roll.");
+            }
+            return new Target(Kind.STAT_ROLL, null, stat, minimum);
+        }
+
+        /** An offense of at least minimum. */
+        public static Target offense(int minimum) {
+            return new Target(Kind.OFFENSE, null, ZithiaStat.DEX, minimum);
+        }
+
+        /** A defense of at least minimum. */
+        public static Target defense(int minimum) {
+            return new Target(Kind.DEFENSE, null, ZithiaStat.DEX, minimum);
+        }
+
+        @Override
+        public String toString() {
+            switch (kind) {
+                case SKILL_ROLL: return skill.getName() + " roll " + minimum;
+                case STAT_ROLL: return stat.getName() + " roll " + minimum;
+                case OFFENSE: return "offense " + minimum;
+                default: return "defense " + minimum;
+            }
+        }
+    }
+
+    /** One way to meet the targets. */
+    public static final class Build {
+        private final int[] statValues;
+        private final Map<ZithiaSkill,Integer> skillLevels;
+        private final int totalCost;
+        private final int pointsLeft;
+
+        private Build(int[] statValues, Map<ZithiaSkill,Integer> skillLevels, int totalCost, int pointsLeft) {
+            this.statValues = statValues;
+            this.skillLevels = skillLevels;
+            this.totalCost = totalCost;
+            this.pointsLeft = pointsLeft;
+        }
+
+        /** The value of a stat in this build. */
+        public int getStatValue(ZithiaStat stat) {
+            return statValues[stat.ordinal()];
+        }
+
+        /** The levels of each skill that has a target, in the order the targets were given. */
+        public Map<ZithiaSkill,Integer> getSkillLevels() {
+            return skillLevels;
+        }
+
+        /** What the character's total cost would be. */
+        public int getTotalCost() {
+            return totalCost;
+        }
+
+        /** How much more could be spent after this build (never negative). */
+        public int getPointsLeft() {
+            return pointsLeft;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder result = new StringBuilder();
+            result.append("cost ").append(totalCost).append(" (").append(pointsLeft).append(" left):");
+            for (ZithiaStat stat : ZithiaStat.values()) {
+                result.append(' ').append(stat.getName()).append('=').append(statValues[stat.ordinal()]);
+            }
+            for (Map.Entry<ZithiaSkill,Integer> entry : skillLevels.entrySet()) {
+                result.append(' ').append(entry.getKey().getId()).append('+').append(entry.getValue());
+            }
+            return result.toString();
+        }
+    }
+
+
+    /** The largest number of pieces the search is split into per thread. */
+    private static final int PIECES_PER_THREAD = 4;
+
+    private final ExecutorService executor;
+    private final int parallelism;
+
+
+    /** Constructor for an optimizer that does all its work on the calling thread. */
+    public BuildOptimizer() {
+        this(null, 1);
+    }
+
+    /**
+     * Constructor for an optimizer that runs the search on executor,
+     * which should have about parallelism threads. The caller remains
+     * responsible for shutting it down.
+     */
+    public BuildOptimizer(ExecutorService executor, int parallelism) {
+        this.executor = executor;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+
+    /**
+     * Returns up to maxResults affordable builds of the character that
+     * meet all the targets, cheapest first (ties are broken by preferring
+     * lower stats, in the order of the stats). Returns an empty list if
+     * there is no affordable way to meet them.
+     */
+    public List<Build> optimize(CharacterSnapshot character, List<Target> targets, int maxResults) {
+        if (maxResults < 1) {
+            throw new IllegalArgumentException("maxResults must be at least 1.");
+        }
+        Search search = new Search(character, targets);
+        Results results = new Results(maxResults, search.spare);
+        if (search.spare >= 0) {
+            List<int[]> pieces = search.split(executor == null ? 1 : parallelism * PIECES_PER_THREAD);
+            if (executor == null || pieces.size() == 1) {
+                for (int[] piece : pieces) {
+                    search.run(piece, results);
+                }
+            } else {
+                runInParallel(search, pieces, results);
+            }
+        }
+        List<Build> builds = new ArrayList<Build>();
+        for (Found found : results.getSorted()) {
+            builds.add(search.toBuild(found));
+        }
+        return builds;
+    }
+
+    /**
+     * Like optimize() for a snapshot of the character, except that each
+     * build found is then checked by evaluating it with a CharacterProgram,
+     * tweaks and all. The totals returned are the ones the program gives
+     * (with the cost of any skills the character doesn't have yet added
+     * on). A build that turns out not to meet the targets or not to be
+     * affordable is left out, so this may return fewer than maxResults.
+     */
+    public List<Build> optimize(ZithiaCharacter character, List<Target> targets, int maxResults) {
+        List<Build> candidates = optimize(character.snapshot(), targets, maxResults);
+        CharacterProgram program = CharacterProgram.compile(character);
+        int[] startingSlots = program.newSlots();
+        program.load(character, startingSlots);
+        List<Build> builds = new ArrayList<Build>();
+        for (Build candidate : candidates) {
+            Build checked = check(program, startingSlots, candidate, targets);
+            if (checked != null) {
+                builds.add(checked);
+            }
+        }
+        Collections.sort(builds, new Comparator<Build>() {
+            public int compare(Build x, Build y) {
+                return x.totalCost - y.totalCost; // the sort is stable, so ties keep the search's order
+            }
+        });
+        return builds;
+    }
+
+    /**
+     * Evaluates a build with the program. Returns it with the totals the
+     * program found, or null if it doesn't meet the targets or can't be
+     * afforded.
+     */
+    private static Build check(CharacterProgram program, int[] startingSlots, Build build, List<Target> targets) {
+        int[] slots = startingSlots.clone();
+        for (ZithiaStat stat : ZithiaStat.values()) {
+            slots[program.getSlot("statValues." + stat.getName() + ".value")] = build.getStatValue(stat);
+        }
+        int newSkillsCost = 0;
+        for (Map.Entry<ZithiaSkill,Integer> entry : build.skillLevels.entrySet()) {
+            int slot = program.getSlot("skillList." + entry.getKey().getId() + ".levels");
+            if (slot >= 0) {
+                slots[slot] = entry.getValue();
+            } else {
+                newSkillsCost += entry.getKey().getCost(entry.getValue());
+            }
+        }
+        program.evaluate(slots);
+        for (Target target : targets) {
+            int achieved;
+            switch (target.kind) {
+                case SKILL_ROLL:
+                    int rollSlot = program.getSlot("skillList." + target.skill.getId() + ".roll");
+                    achieved = rollSlot >= 0
+                            ? slots[rollSlot]
+                            : slots[program.getSlot("statValues." + target.stat.getName() + ".roll")] +
+                                    build.skillLevels.get(target.skill);
+                    break;
+                case STAT_ROLL:
+                    achieved = slots[program.getSlot("statValues." + target.stat.getName() + ".roll")];
+                    break;
+                case OFFENSE:
+                    achieved = slots[program.getSlot("combatValues.offense")];
+                    break;
+                default:
+                    achieved = slots[program.getSlot("combatValues.defense")];
+            }
+            if (achieved < target.minimum) {
+                return null;
+            }
+        }
+        int totalCost = slots[program.getSlot("costs.totalCost")] + newSkillsCost;
+        int pointsLeft = slots[program.getSlot("costs.expUnspent")] - newSkillsCost;
+        if (pointsLeft < 0) {
+            return null;
+        }
+        return new Build(build.statValues, build.skillLevels, totalCost, pointsLeft);
+    }
+
+    private void runInParallel(final Search search, List<int[]> pieces, final Results results) {
+        List<Future<?>> futures = new ArrayList<Future<?>>(pieces.size());
+        for (final int[] piece : pieces) {
+            futures.add(executor.submit(new Callable<Void>() {
+                public Void call() {
+                    search.run(piece, results);
+                    return null;
+                }
+            }));
+        }
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException err) {
+            for (Future<?> future : futures) {
+                future.cancel(true);
+            }
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while optimizing.", err);
+        } catch (ExecutionException err) {
+            for (Future<?> future : futures) {
+                future.cancel(true);
+            }
+            if (err.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) err.getCause();
+            }
+            throw new RuntimeException("Optimizing failed.", err.getCause());
+        }
+    }
+
+
+    /** A build that was found: the stat values and how much more it costs than the character now. */
+    private static final class Found {
+        private final int[] statValues;
+        private final int extraCost;
+
+        private Found(int[] statValues, int extraCost) {
+            this.statValues = statValues;
+            this.extraCost = extraCost;
+        }
+    }
+
+    /** Cheapest first, then lowest stats first. */
+    private static final Comparator<Found> cheapestFirst = new Comparator<Found>() {
+        public int compare(Found x, Found y) {
+            if (x.extraCost != y.extraCost) {
+                return x.extraCost < y.extraCost ? -1 : 1;
+            }
+            for (int i=0; i<x.statValues.length; i++) {
+                if (x.statValues[i] != y.statValues[i]) {
+                    return x.statValues[i] < y.statValues[i] ? -1 : 1;
+                }
+            }
+            return 0;
+        }
+    };
+
+    /**
+     * The best builds found so far, shared by all the pieces of a
+     * search. The limit is read without locking; it only ever goes down,
+     * so a piece that reads an old one just searches a little more than
+     * it needed to.
+     */
+    private static final class Results {
+        private final int maxResults;
+        private final List<Found> best;
+        private volatile int limit;
+
+        private Results(int maxResults, int spare) {
+            this.maxResults = maxResults;
+            this.best = new ArrayList<Found>(maxResults + 1);
+            this.limit = spare;
+        }
+
+        /** Anything costing more extra than this can't make the list. */
+        private int getLimit() {
+            return limit;
+        }
+
+        private synchronized void offer(Found found) {
+            if (found.extraCost > limit) {
+                return;
+            }
+            int position = Collections.binarySearch(best, found, cheapestFirst);
+            if (position < 0) {
+                best.add(-position - 1, found);
+                if (best.size() > maxResults) {
+                    best.remove(best.size() - 1);
+                }
+                if (best.size() == maxResults) {
+                    limit = best.get(best.size() - 1).extraCost;
+                }
+            }
+        }
+
+        private synchronized List<Found> getSorted() {
+            return new ArrayList<Found>(best);
+        }
+    }
+
+
+    /**
+     * Everything about one problem that is worked out in advance. It is
+     * not changed once it has been built, so any number of threads can
+     * search it at once; each keeps its own working array of stat values.
+     */
+    private static final class Search {
+        private final Race race;
+        private final int defPenalty;
+        private final int[] startingStats; // by ordinal
+        private final int totalCostNow;
+        /** How much more the character could spend (negative if it is already over budget). */
+        private final int spare;
+
+        // -- The stats being searched, and the values to try for each --
+        private final int[] searched; // ordinals, in the order they are chosen
+        private final int[][] choices; // for each searched stat, the values to try, lowest first
+        private final int[][] choiceCosts; // the extra cost of each of those values
+
+        // -- Skills with targets --
+        private final ZithiaSkill[] skills;
+        private final int[] skillRolls; // the roll needed
+        private final int[] skillLevelsNow; // 0 if the character doesn't have it
+        private final int[] skillCostsNow; // 0 if the character doesn't have it
+
+        // -- Other targets --
+        private final int[] statRolls; // by ordinal; Integer.MIN_VALUE if there is none
+        private final int offense;
+        private final int defense;
+
+        private Search(CharacterSnapshot character, List<Target> targets) {
+            race = character.getRace();
+            defPenalty = character.getArmor().getDefPenalty().getValue();
+            startingStats = new int[ZithiaStat.getNumStats()];
+            for (ZithiaStat stat : ZithiaStat.values()) {
+                startingStats[stat.ordinal()] = character.getStat(stat).getValue();
+            }
+            Costs costs = character.getCosts();
+            int budget = costs.getBasePts() + costs.getLoanPts() + costs.getExpEarned() -
+                    ZithiaCosts.calculatePaidForLoan(costs.getLoanPts(), costs.getExpEarned());
+            totalCostNow = costs.getTotalCost().getValue();
+            spare = budget - totalCostNow;
+
+            // Gather the targets, keeping just the highest for each thing
+            Map<ZithiaSkill,Integer> skillTargets = new LinkedHashMap<ZithiaSkill,Integer>();
+            statRolls = new int[ZithiaStat.getNumStats()];
+            Arrays.fill(statRolls, Integer.MIN_VALUE);
+            int offenseTarget = Integer.MIN_VALUE;
+            int defenseTarget = Integer.MIN_VALUE;
+            boolean[] involved = new boolean[ZithiaStat.getNumStats()];
+            for (Target target : targets) {
+                switch (target.kind) {
+                    case SKILL_ROLL:
+                        Integer previous = skillTargets.get(target.skill);
+                        skillTargets.put(target.skill, previous == null ? target.minimum : Math.max(previous, target.minimum));
+                        break;
+                    case STAT_ROLL:
+                        statRolls[target.stat.ordinal()] = Math.max(statRolls[target.stat.ordinal()], target.minimum);
+                        break;
+                    case OFFENSE:
+                        offenseTarget = Math.max(offenseTarget, target.minimum);
+                        break;
+                    case DEFENSE:
+                        defenseTarget = Math.max(defenseTarget, target.minimum);
+                        break;
+                }
+                involved[target.stat.ordinal()] = true;
+            }
+            offense = offenseTarget;
+            defense = defenseTarget;
+            if (involved[ZithiaStat.DEX.ordinal()] && defPenalty > 0) {
+                involved[ZithiaStat.STR.ordinal()] = true; // Str offsets the armor penalty to dex and defense
+            }
+
+            skills = skillTargets.keySet().toArray(new ZithiaSkill[skillTargets.size()]);
+            skillRolls = new int[skills.length];
+            skillLevelsNow = new int[skills.length];
+            skillCostsNow = new int[skills.length];
+            for (int i=0; i<skills.length; i++) {
+                skillRolls[i] = skillTargets.get(skills[i]);
+                for (Skill skill : character.getSkills()) {
+                    if (skill.getSkill() == skills[i]) { // if it's there twice, the last one is raised
+                        skillLevelsNow[i] = skill.getLevels();
+                        skillCostsNow[i] = skills[i].getCost(skill.getLevels());
+                    }
+                }
+            }
+
+            // Dex and Str first: they affect the most things, so choosing them early prunes the most
+            List<Integer> order = new ArrayList<Integer>();
+            for (ZithiaStat stat : new ZithiaStat[] {ZithiaStat.DEX, ZithiaStat.STR}) {
+                if (involved[stat.ordinal()]) {
+                    order.add(stat.ordinal());
+                }
+            }
+            for (ZithiaStat stat : ZithiaStat.values()) {
+                if (involved[stat.ordinal()] && stat != ZithiaStat.DEX && stat != ZithiaStat.STR) {
+                    order.add(stat.ordinal());
+                }
+            }
+            searched = new int[order.size()];
+            choices = new int[order.size()][];
+            choiceCosts = new int[order.size()][];
+            for (int i=0; i<searched.length; i++) {
+                searched[i] = order.get(i);
+                findChoices(i);
+            }
+        }
+
+        /**
+         * Fills in the values worth trying for the i'th searched stat:
+         * its current value, and each higher one (that the character can
+         * afford) where a roll or combat value goes up.
+         */
+        private void findChoices(int i) {
+            ZithiaStat stat = ZithiaStat.values()[searched[i]];
+            int start = startingStats[stat.ordinal()];
+            int startCost = statCost(stat, start);
+            int highest = stat.getDefaultValue() + race.getModifier(stat) + RulesTables.MAX_POINTS_RAISED;
+            List<Integer> values = new ArrayList<Integer>();
+            List<Integer> costs = new ArrayList<Integer>();
+            values.add(start);
+            costs.add(0);
+            for (int value = start + 1; value <= highest; value++) {
+                int extraCost = statCost(stat, value) - startCost;
+                if (extraCost > spare) {
+                    break; // costs only go up from here
+                }
+                if (isBreakpoint(stat, value)) {
+                    values.add(value);
+                    costs.add(extraCost);
+                }
+            }
+            choices[i] = toArray(values);
+            choiceCosts[i] = toArray(costs);
+        }
+
+        /** True if raising stat from value-1 to value changes anything. */
+        private boolean isBreakpoint(ZithiaStat stat, int value) {
+            int dex = startingStats[ZithiaStat.DEX.ordinal()];
+            int str = startingStats[ZithiaStat.STR.ordinal()];
+            if (stat.getRoll(value) != stat.getRoll(value - 1)) {
+                return true;
+            }
+            if (stat == ZithiaStat.DEX) {
+                return CombatValues.calculateOffense(value) != CombatValues.calculateOffense(value - 1) ||
+                        CombatValues.calculateDefense(value, defPenalty, str) != CombatValues.calculateDefense(value - 1, defPenalty, str);
+            }
+            if (stat == ZithiaStat.STR) {
+                return CombatValues.calculateDefense(dex, defPenalty, value) != CombatValues.calculateDefense(dex, defPenalty, value - 1);
+            }
+            return false;
+        }
+
+        private int statCost(ZithiaStat stat, int value) {
+            return StatValue.calculateCost(stat, race, value);
+        }
+
+        private static int[] toArray(List<Integer> list) {
+            int[] result = new int[list.size()];
+            for (int i=0; i<result.length; i++) {
+                result[i] = list.get(i);
+            }
+            return result;
+        }
+
+        /**
+         * Divides the search into about the given number of pieces. Each
+         * piece is a choice (as an index into choices) for the first few
+         * searched stats. Cheapest pieces come first, since the good
+         * builds they are likely to find help prune the rest.
+         */
+        private List<int[]> split(int wanted) {
+            int depth = 0;
+            int count = 1;
+            while (depth < searched.length && count < wanted) {
+                count *= choices[depth].length;
+                depth++;
+            }
+            List<int[]> pieces = new ArrayList<int[]>(count);
+            int[] piece = new int[depth];
+            while (true) {
+                pieces.add(piece.clone());
+                int i = depth - 1;
+                while (i >= 0 && piece[i] == choices[i].length - 1) {
+                    piece[i] = 0;
+                    i--;
+                }
+                if (i < 0) {
+                    break;
+                }
+                piece[i]++;
+            }
+            Collections.sort(pieces, new Comparator<int[]>() {
+                public int compare(int[] x, int[] y) {
+                    return pieceCost(x) - pieceCost(y);
+                }
+            });
+            return pieces;
+        }
+
+        private int pieceCost(int[] piece) {
+            int result = 0;
+            for (int i=0; i<piece.length; i++) {
+                result += choiceCosts[i][piece[i]];
+            }
+            return result;
+        }
+
+        /** Searches every build that starts with the choices in piece. */
+        private void run(int[] piece, Results results) {
+            int[] stats = startingStats.clone();
+            for (int i=0; i<searched.length; i++) {
+                stats[searched[i]] = highestChoice(i);
+            }
+            int costSoFar = 0;
+            for (int i=0; i<piece.length; i++) {
+                stats[searched[i]] = choices[i][piece[i]];
+                costSoFar += choiceCosts[i][piece[i]];
+            }
+            search(piece.length, stats, costSoFar, results);
+        }
+
+        private int highestChoice(int i) {
+            return choices[i][choices[i].length - 1];
+        }
+
+        /**
+         * The branch and bound. The searched stats before depth have been
+         * chosen, and cost costSoFar; the rest are at their highest choice.
+         */
+        private void search(int depth, int[] stats, int costSoFar, Results results) {
+            int skillCost = skillCost(stats);
+            if (skillCost < 0 || costSoFar + skillCost > results.getLimit()) {
+                return; // even the best case isn't good enough
+            }
+            if (depth == searched.length) {
+                results.offer(new Found(stats.clone(), costSoFar + skillCost));
+                return;
+            }
+            int ordinal = searched[depth];
+            int[] values = choices[depth];
+            int[] costs = choiceCosts[depth];
+            for (int i=0; i<values.length; i++) {
+                if (costSoFar + costs[i] > results.getLimit()) {
+                    break;
+                }
+                stats[ordinal] = values[i];
+                search(depth + 1, stats, costSoFar + costs[i], results);
+            }
+            stats[ordinal] = highestChoice(depth);
+        }
+
+        /**
+         * The extra cost of the cheapest skill levels that meet the skill
+         * targets with these stats, or -1 if the other targets can't be
+         * met with these stats.
+         */
+        private int skillCost(int[] stats) {
+            int dex = stats[ZithiaStat.DEX.ordinal()];
+            int str = stats[ZithiaStat.STR.ordinal()];
+            if (offense != Integer.MIN_VALUE && CombatValues.calculateOffense(dex) < offense) {
+                return -1;
+            }
+            if (defense != Integer.MIN_VALUE && CombatValues.calculateDefense(dex, defPenalty, str) < defense) {
+                return -1;
+            }
+            for (int ordinal=0; ordinal<statRolls.length; ordinal++) {
+                if (statRolls[ordinal] != Integer.MIN_VALUE && roll(ordinal, stats) < statRolls[ordinal]) {
+                    return -1;
+                }
+            }
+            int result = 0;
+            for (int i=0; i<skills.length; i++) {
+                result += skills[i].getCost(levelsNeeded(i, stats)) - skillCostsNow[i];
+            }
+            return result;
+        }
+
+        private int levelsNeeded(int i, int[] stats) {
+            return Math.max(skillLevelsNow[i], skillRolls[i] - roll(skills[i].getStat().ordinal(), stats));
+        }
+
+        /** The roll for a stat, as shown on the sheet (so Dex includes the armor penalty). */
+        private int roll(int ordinal, int[] stats) {
+            if (ordinal == ZithiaStat.DEX.ordinal()) {
+                return StatValue.calculateDexRoll(stats[ordinal], defPenalty, stats[ZithiaStat.STR.ordinal()]);
+            } else {
+                return ZithiaStat.values()[ordinal].getRoll(stats[ordinal]);
+            }
+        }
+
+        private Build toBuild(Found found) {
+            Map<ZithiaSkill,Integer> levels = new LinkedHashMap<ZithiaSkill,Integer>();
+            for (int i=0; i<skills.length; i++) {
+                levels.put(skills[i], levelsNeeded(i, found.statValues));
+            }
+            return new Build(found.statValues, Collections.unmodifiableMap(levels),
+                    totalCostNow + found.extraCost, spare - found.extraCost);
+        }
+    }
+
+}